@@ -0,0 +1,92 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Encodes and decodes with a {@link TupleType} versus with its package-private compiled {@link TupleCodec}. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MeasureCompiledTuple {
+
+    @Param({ "transfer", "swap" })
+    public String signature;
+
+    private TupleType tupleType;
+    private TupleCodec codec;
+    private Tuple values;
+    private byte[] encoding;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(signature.hashCode());
+        if("transfer".equals(signature)) {
+            tupleType = TupleType.parse("(address,uint256,uint64,bool)");
+            values = Tuple.of(new BigInteger(160, r), new BigInteger(255, r), BigInteger.valueOf(r.nextLong() & Long.MAX_VALUE), r.nextBoolean());
+        } else {
+            tupleType = TupleType.parse("((address,address,uint24,address,uint256,uint256,uint256,uint160),bytes,string,int32)");
+            values = Tuple.of(
+                    Tuple.of(new BigInteger(160, r), new BigInteger(160, r), r.nextInt(1 << 24), new BigInteger(160, r),
+                            new BigInteger(255, r), new BigInteger(255, r), new BigInteger(255, r), new BigInteger(160, r)),
+                    new byte[r.nextInt(100)],
+                    "swap exact input single",
+                    r.nextInt()
+            );
+        }
+        codec = tupleType.compile();
+        encoding = tupleType.encode(values).array();
+    }
+
+    @Benchmark
+    public ByteBuffer encode_interpreted() {
+        return tupleType.encode(values);
+    }
+
+    @Benchmark
+    public ByteBuffer encode_compiled() {
+        return codec.encode(values);
+    }
+
+    @Benchmark
+    public Tuple decode_interpreted() {
+        return tupleType.decode(encoding);
+    }
+
+    @Benchmark
+    public Tuple decode_compiled() {
+        return codec.decode(encoding);
+    }
+}
@@ -1,8 +1,25 @@
 package com.esaulpaugh.headlong.jmh;
 
+import com.esaulpaugh.headlong.abi.MeasureCompiledTuple;
+import com.esaulpaugh.headlong.jmh.abi.MeasureABIJSON;
+import com.esaulpaugh.headlong.jmh.abi.MeasureColumnarDecode;
+import com.esaulpaugh.headlong.jmh.abi.MeasureEncodeDecode;
+import com.esaulpaugh.headlong.jmh.abi.MeasureEvent;
 import com.esaulpaugh.headlong.jmh.abi.MeasureFunction;
+import com.esaulpaugh.headlong.jmh.abi.MeasureIntegerDecode;
+import com.esaulpaugh.headlong.jmh.abi.MeasureKeccak;
+import com.esaulpaugh.headlong.jmh.abi.MeasurePacked;
 import com.esaulpaugh.headlong.jmh.abi.MeasurePadding;
+import com.esaulpaugh.headlong.jmh.abi.MeasureParallel;
+import com.esaulpaugh.headlong.jmh.abi.MeasureTypeFactory;
 import com.esaulpaugh.headlong.jmh.rlp.MeasureKeyValuePairSort;
+import com.esaulpaugh.headlong.jmh.rlp.MeasureNotation;
+import com.esaulpaugh.headlong.jmh.rlp.MeasureRLPBatch;
+import com.esaulpaugh.headlong.jmh.rlp.MeasureRLPCodec;
+import com.esaulpaugh.headlong.jmh.rlp.MeasureRLPDecode;
+import com.esaulpaugh.headlong.jmh.rlp.MeasureRLPEncode;
+import com.esaulpaugh.headlong.jmh.rlp.MeasureRLPStream;
+import com.esaulpaugh.headlong.jmh.rlp.MeasureRecord;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -13,9 +30,26 @@ public class Main {
 
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
+                .include(MeasureABIJSON.class.getSimpleName())
+                .include(MeasureColumnarDecode.class.getSimpleName())
+                .include(MeasureCompiledTuple.class.getSimpleName())
+                .include(MeasureEncodeDecode.class.getSimpleName())
+                .include(MeasureEvent.class.getSimpleName())
                 .include(MeasureFunction.class.getSimpleName())
+                .include(MeasureIntegerDecode.class.getSimpleName())
+                .include(MeasureKeccak.class.getSimpleName())
                 .include(MeasureKeyValuePairSort.class.getSimpleName())
+                .include(MeasureNotation.class.getSimpleName())
+                .include(MeasurePacked.class.getSimpleName())
                 .include(MeasurePadding.class.getSimpleName())
+                .include(MeasureParallel.class.getSimpleName())
+                .include(MeasureRecord.class.getSimpleName())
+                .include(MeasureRLPBatch.class.getSimpleName())
+                .include(MeasureRLPCodec.class.getSimpleName())
+                .include(MeasureRLPDecode.class.getSimpleName())
+                .include(MeasureRLPEncode.class.getSimpleName())
+                .include(MeasureRLPStream.class.getSimpleName())
+                .include(MeasureTypeFactory.class.getSimpleName())
                 .warmupForks(1)
                 .warmupIterations(1)
                 .forks(1)
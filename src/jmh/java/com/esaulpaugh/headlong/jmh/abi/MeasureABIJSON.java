@@ -0,0 +1,51 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.ABIJSON;
+import com.esaulpaugh.headlong.abi.FunctionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureABIJSON {
+
+    @Benchmark
+    public void parse_functions(Blackhole blackhole) {
+        blackhole.consume(ABIJSON.parseFunctions(UniswapV2Abi.JSON));
+    }
+
+    @Benchmark
+    public void parse_events(Blackhole blackhole) {
+        blackhole.consume(ABIJSON.parseEvents(UniswapV2Abi.JSON));
+    }
+
+    @Benchmark
+    public void function_registry(Blackhole blackhole) {
+        blackhole.consume(FunctionRegistry.fromJson(UniswapV2Abi.JSON));
+    }
+}
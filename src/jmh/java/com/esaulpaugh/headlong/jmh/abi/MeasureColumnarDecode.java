@@ -0,0 +1,74 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.DecoderContext;
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleColumns;
+import com.esaulpaugh.headlong.abi.TupleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/** Decodes a batch of Transfer-like payloads one {@link Tuple} per row versus into columns. Run with {@code -prof gc}. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureColumnarDecode {
+
+    private static final int ROWS = 10_000;
+
+    private final TupleType tupleType = TupleType.parse("(address,address,uint256,uint64,bool)");
+    private final byte[][] encodings = new byte[ROWS][];
+    private final DecoderContext decoderContext = new DecoderContext();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            encodings[i] = tupleType.encode(Tuple.of(new BigInteger(160, r), new BigInteger(160, r), new BigInteger(255, r), BigInteger.valueOf(r.nextLong() & Long.MAX_VALUE), r.nextBoolean())).array();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void tuple_per_row(Blackhole blackhole) {
+        for (byte[] encoding : encodings) {
+            blackhole.consume(tupleType.decode(ByteBuffer.wrap(encoding), decoderContext));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public TupleColumns columns() {
+        return tupleType.decodeColumns(encodings);
+    }
+}
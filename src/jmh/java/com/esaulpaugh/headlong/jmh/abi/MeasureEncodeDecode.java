@@ -0,0 +1,137 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.DecoderContext;
+import com.esaulpaugh.headlong.abi.EncoderContext;
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Standard encode/decode throughput by payload shape and size. Run with {@code -prof gc} for allocation rates.
+ * <ul>
+ *     <li>{@code static}: a static tuple of {@code size} units, {@code (uint256,int64,bool,address)[size/4]}</li>
+ *     <li>{@code nested}: a dynamic nested array, {@code uint32[][]} of {@code size} rows of up to 8 elements</li>
+ *     <li>{@code strings}: {@code (string[],bytes[])} of {@code size} elements each, up to 96 bytes apiece</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureEncodeDecode {
+
+    @Param({ "static", "nested", "strings" })
+    public String shape;
+
+    @Param({ "4", "64", "1024" })
+    public int size;
+
+    private TupleType tupleType;
+    private Tuple values;
+    private byte[] encoded;
+
+    private final EncoderContext encoderContext = new EncoderContext();
+    private final DecoderContext decoderContext = new DecoderContext();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(size);
+        switch (shape) {
+        case "static": {
+            final int n = Math.max(1, size / 4);
+            tupleType = TupleType.parse("((uint256,int64,bool,address)[" + n + "])");
+            final Tuple[] arr = new Tuple[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = Tuple.of(new BigInteger(255, r), r.nextLong(), r.nextBoolean(), new BigInteger(160, r));
+            }
+            values = Tuple.of((Object) arr);
+            break;
+        }
+        case "nested": {
+            tupleType = TupleType.parse("(uint32[][])");
+            final long[][] rows = new long[size][];
+            for (int i = 0; i < size; i++) {
+                final long[] row = rows[i] = new long[r.nextInt(9)];
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = r.nextInt() & 0xFFFFFFFFL;
+                }
+            }
+            values = Tuple.of((Object) rows);
+            break;
+        }
+        case "strings": {
+            tupleType = TupleType.parse("(string[],bytes[])");
+            final String[] strings = new String[size];
+            final byte[][] bytes = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                final char[] chars = new char[r.nextInt(97)];
+                for (int j = 0; j < chars.length; j++) {
+                    chars[j] = (char) ('a' + r.nextInt(26));
+                }
+                strings[i] = new String(chars);
+                r.nextBytes(bytes[i] = new byte[r.nextInt(97)]);
+            }
+            values = Tuple.of(strings, bytes);
+            break;
+        }
+        default: throw new IllegalArgumentException(shape);
+        }
+        encoded = tupleType.encode(values).array();
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) {
+        blackhole.consume(tupleType.encode(values));
+    }
+
+    @Benchmark
+    public void encode_with_context(Blackhole blackhole) {
+        blackhole.consume(tupleType.encode(values, encoderContext));
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        blackhole.consume(tupleType.decode(encoded));
+    }
+
+    @Benchmark
+    public void decode_with_context(Blackhole blackhole) {
+        blackhole.consume(tupleType.decode(ByteBuffer.wrap(encoded), decoderContext));
+    }
+
+    @Benchmark
+    public void validate(Blackhole blackhole) {
+        blackhole.consume(tupleType.validate(values));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.Event;
+import com.esaulpaugh.headlong.abi.EventRegistry;
+import com.esaulpaugh.headlong.abi.Tuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/** Decodes a batch of {@code size} Uniswap V2 pair logs (Swap, Sync and Transfer, round-robin). */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureEvent {
+
+    @Param({ "1", "64", "1024" })
+    public int size;
+
+    private EventRegistry registry;
+    private Event swap;
+    private byte[][][] topics;
+    private byte[][] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(size);
+        registry = EventRegistry.fromJson(UniswapV2Abi.JSON);
+        swap = registry.get(new Event("Swap", "(address,uint256,uint256,uint256,uint256,address)", new boolean[] { true, false, false, false, false, true }).getSignatureHash());
+        final Event sync = registry.get(new Event("Sync", "(uint112,uint112)", new boolean[2]).getSignatureHash());
+        final Event transfer = registry.get(new Event("Transfer", "(address,address,uint256)", new boolean[] { true, true, false }).getSignatureHash());
+        topics = new byte[size][][];
+        data = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            switch (i % 3) {
+            case 0:
+                topics[i] = new byte[][] { swap.getSignatureHash(), address(r), address(r) };
+                data[i] = swap.getNonIndexedParams().encode(Tuple.of(uint(r), uint(r), uint(r), uint(r))).array();
+                break;
+            case 1:
+                topics[i] = new byte[][] { sync.getSignatureHash() };
+                data[i] = sync.getNonIndexedParams().encode(Tuple.of(new BigInteger(112, r), new BigInteger(112, r))).array();
+                break;
+            default:
+                topics[i] = new byte[][] { transfer.getSignatureHash(), address(r), address(r) };
+                data[i] = transfer.getNonIndexedParams().encode(Tuple.of(uint(r))).array();
+            }
+        }
+    }
+
+    private static byte[] address(Random r) {
+        final byte[] topic = new byte[32];
+        for (int i = 12; i < topic.length; i++) {
+            topic[i] = (byte) r.nextInt();
+        }
+        return topic;
+    }
+
+    private static BigInteger uint(Random r) {
+        return new BigInteger(r.nextInt(256), r);
+    }
+
+    @Benchmark
+    public void decode_logs(Blackhole blackhole) {
+        blackhole.consume(registry.decodeLogs(topics, data));
+    }
+
+    @Benchmark
+    public void decode_swap_logs(Blackhole blackhole) {
+        for (int i = 0; i < size; i += 3) {
+            blackhole.consume(swap.decodeLog(topics[i], data[i]));
+        }
+    }
+}
@@ -17,6 +17,7 @@ package com.esaulpaugh.headlong.jmh.abi;
 
 import com.esaulpaugh.headlong.abi.Function;
 import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TypeCacheAccess;
 import com.esaulpaugh.headlong.abi.util.WrappedKeccak;
 import com.esaulpaugh.headlong.util.Strings;
 import com.joemelsha.crypto.hash.Keccak;
@@ -65,6 +66,23 @@ public class MeasureFunction {
         blackhole.consume(Function.parse("sam(bytes,bool,uint256[])", new WrappedKeccak(256)));
     }
 
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.Throughput)
+    @Warmup(iterations = 1)
+    public void parse_cached(Blackhole blackhole) {
+        blackhole.consume(Function.parse("sam(bytes,bool,uint256[])"));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @BenchmarkMode(Mode.Throughput)
+    @Warmup(iterations = 1)
+    public void parse_uncached(Blackhole blackhole) {
+        TypeCacheAccess.clearSignatureCache();
+        blackhole.consume(Function.parse("sam(bytes,bool,uint256[])"));
+    }
+
     @Benchmark
     @Fork(value = 1, warmups = 1)
     @BenchmarkMode(Mode.Throughput)
@@ -0,0 +1,86 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Decodes the same integer units through the library's primitive path ({@code int64}, {@code uint24} etc., decoded as
+ * {@code long} and {@code int}) and through its {@link BigInteger} path (the same values decoded as {@code int72} and
+ * {@code uint72}), which is how every integer unit was decoded before the primitive path existed.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 1)
+public class MeasureIntegerDecode {
+
+    private static final int N = 256;
+
+    private final TupleType primitiveArrays = TupleType.parse("(int64[],uint24[])");
+    private final TupleType bigIntegerArrays = TupleType.parse("(int72[],uint72[])");
+    private final TupleType primitiveUnits = TupleType.parse("(int64,uint64,int32,uint24)");
+    private final TupleType bigIntegerUnits = TupleType.parse("(int72,uint72,int72,uint72)");
+
+    private byte[] arrays;
+    private byte[] units;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(System.nanoTime());
+        final long[] longs = new long[N];
+        final int[] ints = new int[N];
+        for (int i = 0; i < N; i++) {
+            longs[i] = r.nextLong();
+            ints[i] = r.nextInt(1 << 24);
+        }
+        arrays = primitiveArrays.encode(Tuple.of(longs, ints)).array();
+        units = primitiveUnits.encode(Tuple.of(r.nextLong(), BigInteger.valueOf(r.nextLong() & Long.MAX_VALUE), r.nextInt(), r.nextInt(1 << 24))).array();
+    }
+
+    @Benchmark
+    public Tuple arrays_primitive() {
+        return primitiveArrays.decode(arrays);
+    }
+
+    @Benchmark
+    public Tuple arrays_big_integer() {
+        return bigIntegerArrays.decode(arrays);
+    }
+
+    @Benchmark
+    public Tuple units_primitive() {
+        return primitiveUnits.decode(units);
+    }
+
+    @Benchmark
+    public Tuple units_big_integer() {
+        return bigIntegerUnits.decode(units);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.util.WrappedKeccak;
+import com.joemelsha.crypto.hash.Keccak;
+import com.joemelsha.crypto.hash.Keccak256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Random;
+
+/** Hashes inputs of a given size one at a time through each Keccak-256 implementation, and as a batch, sequentially and sharded over the common pool. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureKeccak {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({ "32", "136", "1024" })
+    public int size;
+
+    private final Keccak keccak = new Keccak(256);
+    private final WrappedKeccak wrapped = new WrappedKeccak(256);
+    private final Keccak256 keccak256 = new Keccak256();
+
+    private byte[] input;
+    private byte[][] batch;
+    private final byte[] digest = new byte[Keccak256.DIGEST_LEN];
+    private final byte[] digests = new byte[BATCH_SIZE * Keccak256.DIGEST_LEN];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(size);
+        r.nextBytes(input = new byte[size]);
+        batch = new byte[BATCH_SIZE][];
+        for (int i = 0; i < batch.length; i++) {
+            r.nextBytes(batch[i] = new byte[size]);
+        }
+    }
+
+    private byte[] digest(MessageDigest md) throws DigestException {
+        md.update(input);
+        md.digest(digest, 0, digest.length);
+        return digest;
+    }
+
+    @Benchmark
+    public byte[] keccak_message_digest() throws DigestException {
+        return digest(keccak);
+    }
+
+    @Benchmark
+    public byte[] wrapped_keccak() throws DigestException {
+        return digest(wrapped);
+    }
+
+    @Benchmark
+    public byte[] keccak256() {
+        keccak256.digest(input, 0, input.length, digest, 0, Keccak256.DIGEST_LEN);
+        return digest;
+    }
+
+    private byte[] digestAll(MessageDigest md) throws DigestException {
+        for (int i = 0; i < batch.length; i++) {
+            md.update(batch[i]);
+            md.digest(digests, i * Keccak256.DIGEST_LEN, Keccak256.DIGEST_LEN);
+        }
+        return digests;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] keccak_message_digest_batch() throws DigestException {
+        return digestAll(keccak);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] wrapped_keccak_batch() throws DigestException {
+        return digestAll(wrapped);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1, jvmArgsAppend = "-D" + Keccak.PERMUTATION_PROPERTY + "=looped")
+    public byte[] keccak256_looped_permutation() {
+        return keccak256();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1, jvmArgsAppend = "-D" + Keccak.PERMUTATION_PROPERTY + "=unrolled")
+    public byte[] keccak256_unrolled_permutation() {
+        return keccak256();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] keccak256_batch() {
+        keccak256.digestAll(batch, digests, 0);
+        return digests;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] keccak256_parallel() {
+        Keccak256.hashAllParallel(batch, digests, 0);
+        return digests;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.PackedDecoder;
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/** Non-standard packed encoding of {@code (uint64,bool,bytes20,int32[size],string)} with a {@code size}-char string. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasurePacked {
+
+    @Param({ "4", "64", "1024" })
+    public int size;
+
+    private TupleType tupleType;
+    private Tuple values;
+    private byte[] packed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(size);
+        tupleType = TupleType.parse("(uint64,bool,bytes20,int32[" + size + "],string)");
+        final int[] ints = new int[size];
+        final char[] chars = new char[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = r.nextInt();
+            chars[i] = (char) ('a' + r.nextInt(26));
+        }
+        final byte[] bytes20 = new byte[20];
+        r.nextBytes(bytes20);
+        values = Tuple.of(new BigInteger(64, r), r.nextBoolean(), bytes20, ints, new String(chars));
+        packed = tupleType.encodePacked(values).array();
+    }
+
+    @Benchmark
+    public void encode_packed(Blackhole blackhole) {
+        blackhole.consume(tupleType.encodePacked(values));
+    }
+
+    @Benchmark
+    public void decode_packed(Blackhole blackhole) {
+        blackhole.consume(PackedDecoder.decode(tupleType, packed));
+    }
+}
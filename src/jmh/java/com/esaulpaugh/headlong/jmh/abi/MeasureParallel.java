@@ -0,0 +1,119 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.DecoderContext;
+import com.esaulpaugh.headlong.abi.EncoderContext;
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Serial versus parallel (common pool) encoding and decoding of large arrays of dynamic elements.
+ * <ul>
+ *     <li>{@code bytes}: {@code (bytes[])} of {@code size} elements of up to 200 bytes apiece</li>
+ *     <li>{@code tuples}: {@code ((address,uint256,bytes)[])} of {@code size} elements with up to 100 bytes apiece</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureParallel {
+
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    @Param({ "bytes", "tuples" })
+    public String shape;
+
+    @Param({ "1000", "50000" })
+    public int size;
+
+    private TupleType tupleType;
+    private Tuple values;
+    private byte[] encoded;
+
+    private final EncoderContext serialEncoder = new EncoderContext();
+    private final EncoderContext parallelEncoder = new EncoderContext(256, false, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    private final DecoderContext serialDecoder = new DecoderContext();
+    private final DecoderContext parallelDecoder = new DecoderContext(false, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(size);
+        switch (shape) {
+        case "bytes": {
+            tupleType = TupleType.parse("(bytes[])");
+            final byte[][] arr = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                r.nextBytes(arr[i] = new byte[r.nextInt(201)]);
+            }
+            values = Tuple.of((Object) arr);
+            break;
+        }
+        case "tuples": {
+            tupleType = TupleType.parse("((address,uint256,bytes)[])");
+            final Tuple[] arr = new Tuple[size];
+            for (int i = 0; i < size; i++) {
+                final byte[] data = new byte[r.nextInt(101)];
+                r.nextBytes(data);
+                arr[i] = Tuple.of(new BigInteger(160, r), new BigInteger(255, r), data);
+            }
+            values = Tuple.of((Object) arr);
+            break;
+        }
+        default: throw new IllegalArgumentException(shape);
+        }
+        encoded = tupleType.encode(values).array();
+    }
+
+    @Benchmark
+    public void encode_serial(Blackhole blackhole) {
+        blackhole.consume(tupleType.encode(values, serialEncoder));
+    }
+
+    @Benchmark
+    public void encode_parallel(Blackhole blackhole) {
+        blackhole.consume(tupleType.encode(values, parallelEncoder));
+    }
+
+    @Benchmark
+    public void decode_serial(Blackhole blackhole) {
+        blackhole.consume(tupleType.decode(ByteBuffer.wrap(encoded), serialDecoder));
+    }
+
+    @Benchmark
+    public void decode_parallel(Blackhole blackhole) {
+        blackhole.consume(tupleType.decode(ByteBuffer.wrap(encoded), parallelDecoder));
+    }
+}
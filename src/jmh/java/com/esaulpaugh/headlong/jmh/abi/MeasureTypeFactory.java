@@ -0,0 +1,60 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+import com.esaulpaugh.headlong.abi.TupleType;
+import com.esaulpaugh.headlong.abi.TypeCacheAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Type-string parsing, with a warm cache and with the cache cleared before every parse. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureTypeFactory {
+
+    private static final String[] TYPES = new String[] {
+            "(uint256)",
+            "(address,uint256,bytes)",
+            "(bytes32[],(uint8,int24)[3][],string)",
+            "((address,(uint128,bool)[],bytes4)[],fixed128x18,uint256[2][2])",
+            "(function,bytes,string[],(int,(uint,(bool,bytes))))"
+    };
+
+    @Benchmark
+    public void parse_cached(Blackhole blackhole) {
+        for (String t : TYPES) {
+            blackhole.consume(TupleType.parse(t));
+        }
+    }
+
+    @Benchmark
+    public void parse_uncached(Blackhole blackhole) {
+        for (String t : TYPES) {
+            TypeCacheAccess.clearCache();
+            blackhole.consume(TupleType.parse(t));
+        }
+    }
+}
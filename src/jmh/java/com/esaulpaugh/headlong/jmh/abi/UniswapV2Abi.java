@@ -0,0 +1,127 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.abi;
+
+/** The JSON ABI of the Uniswap V2 router and pair contracts, a real-world fixture of 50 functions and 6 events. */
+final class UniswapV2Abi {
+
+    private UniswapV2Abi() {}
+
+    private static final String ROUTER_PERMIT = "address token,uint256 liquidity,uint256 amountTokenMin,uint256 amountETHMin,address to,uint256 deadline,bool approveMax,uint8 v,bytes32 r,bytes32 s";
+    private static final String REMOVE_ETH = "address token,uint256 liquidity,uint256 amountTokenMin,uint256 amountETHMin,address to,uint256 deadline";
+    private static final String EXACT_IN = "uint256 amountIn,uint256 amountOutMin,address[] path,address to,uint256 deadline";
+    private static final String EXACT_OUT = "uint256 amountOut,uint256 amountInMax,address[] path,address to,uint256 deadline";
+    private static final String ETH_IN = "uint256 amountOutMin,address[] path,address to,uint256 deadline";
+
+    static final String JSON = new UniswapV2Abi.Builder()
+            .function("WETH", "pure", "", "address")
+            .function("factory", "pure", "", "address")
+            .function("addLiquidity", "nonpayable", "address tokenA,address tokenB,uint256 amountADesired,uint256 amountBDesired,uint256 amountAMin,uint256 amountBMin,address to,uint256 deadline", "uint256 amountA,uint256 amountB,uint256 liquidity")
+            .function("addLiquidityETH", "payable", "address token,uint256 amountTokenDesired,uint256 amountTokenMin,uint256 amountETHMin,address to,uint256 deadline", "uint256 amountToken,uint256 amountETH,uint256 liquidity")
+            .function("getAmountIn", "pure", "uint256 amountOut,uint256 reserveIn,uint256 reserveOut", "uint256 amountIn")
+            .function("getAmountOut", "pure", "uint256 amountIn,uint256 reserveIn,uint256 reserveOut", "uint256 amountOut")
+            .function("getAmountsIn", "view", "uint256 amountOut,address[] path", "uint256[] amounts")
+            .function("getAmountsOut", "view", "uint256 amountIn,address[] path", "uint256[] amounts")
+            .function("quote", "pure", "uint256 amountA,uint256 reserveA,uint256 reserveB", "uint256 amountB")
+            .function("removeLiquidity", "nonpayable", "address tokenA,address tokenB,uint256 liquidity,uint256 amountAMin,uint256 amountBMin,address to,uint256 deadline", "uint256 amountA,uint256 amountB")
+            .function("removeLiquidityETH", "nonpayable", REMOVE_ETH, "uint256 amountToken,uint256 amountETH")
+            .function("removeLiquidityETHSupportingFeeOnTransferTokens", "nonpayable", REMOVE_ETH, "uint256 amountETH")
+            .function("removeLiquidityETHWithPermit", "nonpayable", ROUTER_PERMIT, "uint256 amountToken,uint256 amountETH")
+            .function("removeLiquidityETHWithPermitSupportingFeeOnTransferTokens", "nonpayable", ROUTER_PERMIT, "uint256 amountETH")
+            .function("removeLiquidityWithPermit", "nonpayable", "address tokenA,address tokenB,uint256 liquidity,uint256 amountAMin,uint256 amountBMin,address to,uint256 deadline,bool approveMax,uint8 v,bytes32 r,bytes32 s", "uint256 amountA,uint256 amountB")
+            .function("swapETHForExactTokens", "payable", "uint256 amountOut,address[] path,address to,uint256 deadline", "uint256[] amounts")
+            .function("swapExactETHForTokens", "payable", ETH_IN, "uint256[] amounts")
+            .function("swapExactETHForTokensSupportingFeeOnTransferTokens", "payable", ETH_IN, "")
+            .function("swapExactTokensForETH", "nonpayable", EXACT_IN, "uint256[] amounts")
+            .function("swapExactTokensForETHSupportingFeeOnTransferTokens", "nonpayable", EXACT_IN, "")
+            .function("swapExactTokensForTokens", "nonpayable", EXACT_IN, "uint256[] amounts")
+            .function("swapExactTokensForTokensSupportingFeeOnTransferTokens", "nonpayable", EXACT_IN, "")
+            .function("swapTokensForExactETH", "nonpayable", EXACT_OUT, "uint256[] amounts")
+            .function("swapTokensForExactTokens", "nonpayable", EXACT_OUT, "uint256[] amounts")
+            .function("DOMAIN_SEPARATOR", "view", "", "bytes32")
+            .function("MINIMUM_LIQUIDITY", "pure", "", "uint256")
+            .function("PERMIT_TYPEHASH", "pure", "", "bytes32")
+            .function("allowance", "view", "address owner,address spender", "uint256")
+            .function("approve", "nonpayable", "address spender,uint256 value", "bool")
+            .function("balanceOf", "view", "address owner", "uint256")
+            .function("burn", "nonpayable", "address to", "uint256 amount0,uint256 amount1")
+            .function("decimals", "pure", "", "uint8")
+            .function("getReserves", "view", "", "uint112 reserve0,uint112 reserve1,uint32 blockTimestampLast")
+            .function("initialize", "nonpayable", "address,address", "")
+            .function("kLast", "view", "", "uint256")
+            .function("mint", "nonpayable", "address to", "uint256 liquidity")
+            .function("name", "pure", "", "string")
+            .function("nonces", "view", "address owner", "uint256")
+            .function("permit", "nonpayable", "address owner,address spender,uint256 value,uint256 deadline,uint8 v,bytes32 r,bytes32 s", "")
+            .function("price0CumulativeLast", "view", "", "uint256")
+            .function("price1CumulativeLast", "view", "", "uint256")
+            .function("skim", "nonpayable", "address to", "")
+            .function("swap", "nonpayable", "uint256 amount0Out,uint256 amount1Out,address to,bytes data", "")
+            .function("symbol", "pure", "", "string")
+            .function("sync", "nonpayable", "", "")
+            .function("token0", "view", "", "address")
+            .function("token1", "view", "", "address")
+            .function("totalSupply", "view", "", "uint256")
+            .function("transfer", "nonpayable", "address to,uint256 value", "bool")
+            .function("transferFrom", "nonpayable", "address from,address to,uint256 value", "bool")
+            .event("Approval", "address indexed owner,address indexed spender,uint256 value")
+            .event("Burn", "address indexed sender,uint256 amount0,uint256 amount1,address indexed to")
+            .event("Mint", "address indexed sender,uint256 amount0,uint256 amount1")
+            .event("Swap", "address indexed sender,uint256 amount0In,uint256 amount1In,uint256 amount0Out,uint256 amount1Out,address indexed to")
+            .event("Sync", "uint112 reserve0,uint112 reserve1")
+            .event("Transfer", "address indexed from,address indexed to,uint256 value")
+            .build();
+
+    private static final class Builder {
+
+        private final StringBuilder sb = new StringBuilder("[");
+
+        Builder function(String name, String stateMutability, String inputs, String outputs) {
+            sb.append("{\"type\":\"function\",\"name\":\"").append(name).append("\",\"inputs\":");
+            params(inputs);
+            sb.append(",\"outputs\":");
+            params(outputs);
+            sb.append(",\"stateMutability\":\"").append(stateMutability).append("\"},");
+            return this;
+        }
+
+        Builder event(String name, String inputs) {
+            sb.append("{\"type\":\"event\",\"name\":\"").append(name).append("\",\"anonymous\":false,\"inputs\":");
+            params(inputs);
+            sb.append("},");
+            return this;
+        }
+
+        private void params(String params) {
+            sb.append('[');
+            if(!params.isEmpty()) {
+                for (String param : params.split(",")) {
+                    final String[] parts = param.split(" ");
+                    sb.append("{\"name\":\"").append(parts.length > 1 ? parts[parts.length - 1] : "")
+                            .append("\",\"type\":\"").append(parts[0])
+                            .append("\",\"indexed\":").append(parts.length == 3).append("},");
+                }
+                sb.setLength(sb.length() - 1);
+            }
+            sb.append(']');
+        }
+
+        String build() {
+            sb.setCharAt(sb.length() - 1, ']');
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.rlp.RLPItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/** Decodes a file's worth of block headers one after another vs. spread across the common pool. */
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MeasureRLPBatch {
+
+    @Param({ "1000", "100000" })
+    public int headers;
+
+    private byte[] encodings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(headers);
+        final Object[] items = new Object[headers];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = MeasureRLPDecode.blockHeaderFields(r);
+        }
+        encodings = RLPEncoder.encodeSequentially(items);
+    }
+
+    private static BigInteger difficulty(RLPItem header) {
+        final Iterator<RLPItem> iter = header.asRLPList().iterator();
+        for (int i = 0; i < 7; i++) {
+            iter.next();
+        }
+        return iter.next().asBigInt();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        final List<BigInteger> difficulties = new ArrayList<>(headers);
+        final Iterator<RLPItem> iter = RLP_STRICT.sequenceIterator(encodings);
+        while (iter.hasNext()) {
+            difficulties.add(difficulty(iter.next()));
+        }
+        blackhole.consume(difficulties);
+    }
+
+    @Benchmark
+    public void map_parallel(Blackhole blackhole) {
+        blackhole.consume(RLP_STRICT.mapParallel(encodings, MeasureRLPBatch::difficulty));
+    }
+
+    @Benchmark
+    public void item_indices(Blackhole blackhole) {
+        blackhole.consume(RLP_STRICT.itemIndices(encodings, 0, encodings.length));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.RLPCodec;
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.rlp.RLPItem;
+import com.esaulpaugh.headlong.util.Integers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/** Encodes and decodes a legacy transaction through an {@link RLPCodec} vs. by hand. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureRLPCodec {
+
+    static final class Transaction {
+
+        final long nonce;
+        final BigInteger gasPrice;
+        final long gasLimit;
+        final byte[] to;
+        final BigInteger value;
+        final byte[] data;
+        final long v;
+        final BigInteger r;
+        final BigInteger s;
+
+        Transaction(long nonce, BigInteger gasPrice, long gasLimit, byte[] to, BigInteger value, byte[] data, long v, BigInteger r, BigInteger s) {
+            this.nonce = nonce;
+            this.gasPrice = gasPrice;
+            this.gasLimit = gasLimit;
+            this.to = to;
+            this.value = value;
+            this.data = data;
+            this.v = v;
+            this.r = r;
+            this.s = s;
+        }
+    }
+
+    private static final RLPCodec<Transaction> CODEC = RLPCodec.of(Transaction.class, "nonce", "gasPrice", "gasLimit", "to", "value", "data", "v", "r", "s");
+
+    private static final Transaction TX = new Transaction(
+            9L,
+            BigInteger.valueOf(20_000_000_000L),
+            21_000L,
+            new byte[] { 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35, 0x35 },
+            BigInteger.TEN.pow(18),
+            new byte[0],
+            37L,
+            new BigInteger("28ef61340bd939bc2195fe537567866003e1a15d3c71ff63e1590620aa636276", 16),
+            new BigInteger("67cbe9d8997f761aecb703304b3800ccf555c9f3dc64214b297fb1966a3b6d83", 16)
+    );
+
+    private static final byte[] ENCODING = CODEC.encode(TX);
+
+    private static Object[] toObjectArray(Transaction tx) {
+        return new Object[] {
+                Integers.toBytes(tx.nonce),
+                Integers.toBytesUnsigned(tx.gasPrice),
+                Integers.toBytes(tx.gasLimit),
+                tx.to,
+                Integers.toBytesUnsigned(tx.value),
+                tx.data,
+                Integers.toBytes(tx.v),
+                Integers.toBytesUnsigned(tx.r),
+                Integers.toBytesUnsigned(tx.s)
+        };
+    }
+
+    @Benchmark
+    public void encode_codec(Blackhole blackhole) {
+        blackhole.consume(CODEC.encode(TX));
+    }
+
+    @Benchmark
+    public void encode_by_hand(Blackhole blackhole) {
+        blackhole.consume(RLPEncoder.encodeAsList(toObjectArray(TX)));
+    }
+
+    @Benchmark
+    public void decode_codec(Blackhole blackhole) {
+        blackhole.consume(CODEC.decode(ENCODING));
+    }
+
+    @Benchmark
+    public void decode_by_hand(Blackhole blackhole) {
+        final Iterator<RLPItem> iter = RLP_STRICT.listIterator(ENCODING);
+        blackhole.consume(new Transaction(
+                iter.next().asLong(),
+                iter.next().asBigInt(),
+                iter.next().asLong(),
+                iter.next().asBytes(),
+                iter.next().asBigInt(),
+                iter.next().asBytes(),
+                iter.next().asLong(),
+                iter.next().asBigInt(),
+                iter.next().asBigInt()
+        ));
+    }
+}
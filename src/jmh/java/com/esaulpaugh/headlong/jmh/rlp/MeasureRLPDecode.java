@@ -0,0 +1,81 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.rlp.RLPItem;
+import com.esaulpaugh.headlong.rlp.RLPList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/** Decodes a block header: wrapping, and reading the elements into a list vs. iterating over them. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureRLPDecode {
+
+    /** Field sizes of a mainnet block header: hashes, beneficiary, bloom, scalars, extra data, mix hash and nonce. */
+    private static final int[] HEADER_FIELD_LENGTHS = new int[] { 32, 32, 20, 32, 32, 32, 256, 7, 3, 3, 3, 4, 14, 32, 8 };
+
+    static final byte[][] BLOCK_HEADER_FIELDS = blockHeaderFields(new Random(0L));
+
+    static final byte[] BLOCK_HEADER = RLPEncoder.encodeAsList((Object[]) BLOCK_HEADER_FIELDS);
+
+    static byte[][] blockHeaderFields(Random r) {
+        final byte[][] fields = new byte[HEADER_FIELD_LENGTHS.length][];
+        for (int i = 0; i < fields.length; i++) {
+            r.nextBytes(fields[i] = new byte[HEADER_FIELD_LENGTHS[i]]);
+            fields[i][0] |= 1; // no leading zeroes
+        }
+        return fields;
+    }
+
+    @Benchmark
+    public void wrap(Blackhole blackhole) {
+        blackhole.consume(RLP_STRICT.wrap(BLOCK_HEADER));
+    }
+
+    @Benchmark
+    public void wrap_list(Blackhole blackhole) {
+        blackhole.consume(RLP_STRICT.wrapList(BLOCK_HEADER));
+    }
+
+    @Benchmark
+    public void elements(Blackhole blackhole) {
+        blackhole.consume(RLP_STRICT.wrapList(BLOCK_HEADER).elements(RLP_STRICT));
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+        final RLPList list = RLP_STRICT.wrapList(BLOCK_HEADER);
+        for (RLPItem item : list) {
+            blackhole.consume(item);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Encodes a block header, and a tree of lists {@code depth} levels deep in which each list holds two byte strings and
+ * two sublists.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureRLPEncode {
+
+    @State(Scope.Thread)
+    public static class Tree {
+
+        @Param({ "1", "4", "8" })
+        public int depth;
+
+        List<Object> tree;
+        byte[] dest;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            tree = tree(new Random(depth), depth);
+            dest = new byte[RLPEncoder.encodeAsList(tree).length];
+        }
+
+        private static List<Object> tree(Random r, int depth) {
+            final byte[] a = new byte[r.nextInt(8)];
+            final byte[] b = new byte[r.nextInt(80)];
+            r.nextBytes(a);
+            r.nextBytes(b);
+            return depth <= 1
+                    ? Arrays.asList(a, b)
+                    : Arrays.asList(a, tree(r, depth - 1), b, tree(r, depth - 1));
+        }
+    }
+
+    @Benchmark
+    public void encode_as_list(Tree t, Blackhole blackhole) {
+        blackhole.consume(RLPEncoder.encodeAsList(t.tree));
+    }
+
+    @Benchmark
+    public void encode_as_list_into_array(Tree t, Blackhole blackhole) {
+        blackhole.consume(RLPEncoder.encodeAsList(t.tree, t.dest, 0));
+    }
+
+    @Benchmark
+    public void encode_block_header(Blackhole blackhole) {
+        blackhole.consume(RLPEncoder.encodeAsList((Object[]) MeasureRLPDecode.BLOCK_HEADER_FIELDS));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.RLPItem;
+import com.esaulpaugh.headlong.rlp.RLPStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/**
+ * Iterates an {@link RLPStream} of block headers totalling {@code megabytes} MiB, read from an {@link InputStream} which
+ * makes at most {@code chunk} bytes available at a time, as a socket would.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureRLPStream {
+
+    @Param({ "1", "8" })
+    public int megabytes;
+
+    @Param({ "4096", "65536" })
+    public int chunk;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random r = new Random(megabytes);
+        final int target = megabytes << 20;
+        final byte[] header = MeasureRLPDecode.BLOCK_HEADER;
+        data = new byte[target - target % header.length];
+        for (int i = 0; i < data.length; i += header.length) {
+            System.arraycopy(header, 0, data, i, header.length);
+            data[i + 4] = (byte) r.nextInt(); // within the first field; varies the content, not the structure
+        }
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        for (RLPItem item : RLP_STRICT.stream(new ChunkedInputStream(data, chunk))) {
+            blackhole.consume(item);
+        }
+    }
+
+    @Benchmark
+    public void stream_blocking(Blackhole blackhole) {
+        for (RLPItem item : RLPStream.blocking(new ChunkedInputStream(data, chunk), RLP_STRICT, 65536, Integer.MAX_VALUE)) {
+            blackhole.consume(item);
+        }
+    }
+
+    @Benchmark
+    public void sequence_iterator(Blackhole blackhole) {
+        RLP_STRICT.sequenceIterator(data).forEachRemaining(blackhole::consume);
+    }
+
+    private static final class ChunkedInputStream extends ByteArrayInputStream {
+
+        private final int chunk;
+
+        ChunkedInputStream(byte[] buf, int chunk) {
+            super(buf);
+            this.chunk = chunk;
+        }
+
+        @Override
+        public synchronized int available() {
+            return Math.min(chunk, super.available());
+        }
+    }
+}
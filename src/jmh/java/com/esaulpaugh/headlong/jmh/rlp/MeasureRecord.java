@@ -0,0 +1,97 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.jmh.rlp;
+
+import com.esaulpaugh.headlong.rlp.KeyValuePair;
+import com.esaulpaugh.headlong.rlp.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.esaulpaugh.headlong.rlp.KeyValuePair.ID;
+import static com.esaulpaugh.headlong.rlp.KeyValuePair.IP;
+import static com.esaulpaugh.headlong.rlp.KeyValuePair.SECP256K1;
+import static com.esaulpaugh.headlong.rlp.KeyValuePair.UDP;
+import static com.esaulpaugh.headlong.util.Strings.HEX;
+import static com.esaulpaugh.headlong.util.Strings.UTF_8;
+
+/** EIP-778 node records, using the example record from the EIP and a fixed signature in place of secp256k1. */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+public class MeasureRecord {
+
+    private static final String ENR_STRING = "enr:-IS4QHCYrYZbAKWCBRlAy5zzaDZXJBGkcnh4MHcBFZntXNFrdvJjX04jRzjzCBOonrkTfj499SZuOh8R33Ls8RRcy5wBgmlkgnY0gmlwhH8AAAGJc2VjcDI1NmsxoQPKY0yuDUmstAHYpMa2_oxVtw0RW_QAdpzBQA8yWM0xOIN1ZHCCdl8";
+
+    private static final Record.Signer SIGNER = new Record.Signer() {
+
+        private final byte[] signature = Record.parse(ENR_STRING).getSignature().asBytes();
+
+        @Override
+        public int signatureLength() {
+            return signature.length;
+        }
+
+        @Override
+        public byte[] sign(byte[] message, int off, int len) {
+            return signature;
+        }
+    };
+
+    private static final Record.Verifier VERIFIER = (signature, content) -> {};
+
+    private final List<KeyValuePair> pairs = Arrays.asList(
+            new KeyValuePair(IP, "7f000001", HEX),
+            new KeyValuePair(UDP, "765f", HEX),
+            new KeyValuePair(ID, "v4", UTF_8),
+            new KeyValuePair(SECP256K1, "03ca634cae0d49acb401d8a4c6b6fe8c55b70d115bf400769cc1400f3258cd3138", HEX)
+    );
+
+    private final Record record = Record.parse(ENR_STRING);
+
+    @Benchmark
+    public void construct(Blackhole blackhole) {
+        blackhole.consume(new Record(1L, new ArrayList<>(pairs), SIGNER));
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        blackhole.consume(Record.parse(ENR_STRING));
+    }
+
+    @Benchmark
+    public void verify(Blackhole blackhole) throws SignatureException {
+        blackhole.consume(record.decode(VERIFIER));
+    }
+
+    @Benchmark
+    public void to_string(Blackhole blackhole) {
+        blackhole.consume(record.toString());
+    }
+}
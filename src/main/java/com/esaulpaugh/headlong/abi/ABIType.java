@@ -93,6 +93,14 @@ public abstract class ABIType<J> {
      */
     public abstract int validate(Object value);
 
+    /**
+     * Validates {@code value} as by {@link #validate(Object)} and, if {@code lengths} is not null, records into it the
+     * encoded lengths of the value's dynamic components for use by {@link #encodeTail(Object, ByteBuffer, LengthTree)}.
+     */
+    int validate(Object value, LengthTree lengths) {
+        return validate(value);
+    }
+
     int encodeHead(Object value, ByteBuffer dest, int nextOffset) {
         if (!dynamic) {
             encodeTail(value, dest);
@@ -105,6 +113,11 @@ public abstract class ABIType<J> {
         throw new UnsupportedOperationException();
     }
 
+    /* consumes the lengths recorded by validate(Object, LengthTree) instead of recomputing them */
+    void encodeTail(Object value, ByteBuffer dest, LengthTree lengths) {
+        encodeTail(value, dest);
+    }
+
     /**
      * Decodes the data at the buffer's current position according to this {@link ABIType}.
      *
@@ -115,6 +128,11 @@ public abstract class ABIType<J> {
      */
     abstract J decode(ByteBuffer buffer, byte[] unitBuffer);
 
+    /* decodes according to the options in ctx, if not null; unitBuffer is used in place of ctx.unitBuffer */
+    Object decode(ByteBuffer buffer, byte[] unitBuffer, DecoderContext ctx) {
+        return decode(buffer, unitBuffer);
+    }
+
     /**
      * Parses and validates a string representation of J. Not supported by {@link ArrayType}, {@link TupleType}.
      *
@@ -21,7 +21,11 @@ import com.esaulpaugh.headlong.util.Strings;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Supplier;
 
 import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
@@ -267,6 +271,28 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         return byteLength;
     }
 
+    @Override
+    int validate(final Object value, final LengthTree lengths) {
+        if(lengths == null || !elementType.dynamic) { // static elements have no dynamic components
+            return validate(value);
+        }
+        validateClass(value);
+        final Object[] arr = (Object[]) value;
+        final int len = arr.length;
+        checkLength(len, arr);
+        final int slot = lengths.reserve(len);
+        final LengthTree elementLengths = lengths.encodeInParallel(len) ? null : lengths; // else recomputed by each worker
+        int byteLength = len * UNIT_LENGTH_BYTES; // 32 bytes per offset
+        for (int i = 0; i < len; i++) {
+            final int elementLen = elementType.validate(arr[i], elementLengths);
+            lengths.set(slot + i, elementLen);
+            byteLength += elementLen;
+        }
+        return length == DYNAMIC_LENGTH
+                ? ARRAY_LENGTH_BYTE_LEN + byteLength
+                : byteLength;
+    }
+
     private int checkLength(final int valueLength, Object value) {
         if(length == DYNAMIC_LENGTH || length == valueLength) {
             return valueLength;
@@ -283,6 +309,82 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         encodeArrayTail(decodeIfString(value), dest);
     }
 
+    @Override
+    void encodeTail(Object value, ByteBuffer dest, LengthTree lengths) {
+        if(!elementType.dynamic) {
+            encodeArrayTail(decodeIfString(value), dest);
+            return;
+        }
+        final Object[] objects = (Object[]) value;
+        if(length == DYNAMIC_LENGTH) {
+            Encoding.insertInt(objects.length, dest);
+        }
+        if(lengths.encodeInParallel(objects.length)) {
+            encodeParallel(objects, dest, lengths);
+            return;
+        }
+        int nextOffset = objects.length * Encoding.OFFSET_LENGTH_BYTES;
+        for (int i = 0; i < objects.length; i++) {
+            nextOffset = Encoding.insertOffset(nextOffset, dest, lengths.next());
+        }
+        for (Object object : objects) {
+            elementType.encodeTail(object, dest, lengths);
+        }
+    }
+
+    /* writes the offsets, then encodes each element into its own window of dest on the pool */
+    private void encodeParallel(Object[] objects, ByteBuffer dest, LengthTree lengths) {
+        final int len = objects.length;
+        final int[] positions = new int[len + 1];
+        positions[0] = dest.position() + len * Encoding.OFFSET_LENGTH_BYTES;
+        int nextOffset = len * Encoding.OFFSET_LENGTH_BYTES;
+        for (int i = 0; i < len; i++) {
+            final int elementLen = lengths.next();
+            nextOffset = Encoding.insertOffset(nextOffset, dest, elementLen);
+            positions[i + 1] = positions[i] + elementLen;
+        }
+        final ForkJoinPool pool = lengths.pool;
+        final int grain = Math.max(1, len / (pool.getParallelism() * 4));
+        pool.invoke(new EncodeTask(elementType, objects, dest, positions, 0, len, grain));
+        dest.position(positions[len]);
+    }
+
+    private static final class EncodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ABIType<?> elementType;
+        private final Object[] objects;
+        private final transient ByteBuffer dest;
+        private final int[] positions;
+        private final int from, to, grain;
+
+        EncodeTask(ABIType<?> elementType, Object[] objects, ByteBuffer dest, int[] positions, int from, int to, int grain) {
+            this.elementType = elementType;
+            this.objects = objects;
+            this.dest = dest;
+            this.positions = positions;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from > grain) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new EncodeTask(elementType, objects, dest, positions, from, mid, grain),
+                        new EncodeTask(elementType, objects, dest, positions, mid, to, grain));
+                return;
+            }
+            final ByteBuffer window = dest.duplicate();
+            for (int i = from; i < to; i++) {
+                window.position(positions[i]);
+                elementType.encodeTail(objects[i], window);
+            }
+        }
+    }
+
     private void insert(Supplier<Integer> supplyLength, Runnable insert, ByteBuffer dest) {
         if(length == DYNAMIC_LENGTH) {
             Encoding.insertInt(supplyLength.get(), dest);
@@ -292,12 +394,7 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
 
     private void encodeArrayTail(Object v, ByteBuffer dest) {
         switch (elementType.typeCode()) {
-        case TYPE_CODE_BOOLEAN: boolean[] z = (boolean[])v; insert(() -> z.length, () -> insertBooleans(z, dest), dest); return;
         case TYPE_CODE_BYTE: byte[] b = (byte[])v; insert(() -> b.length, () -> Encoding.insertBytesPadded(b, dest), dest); return;
-        case TYPE_CODE_INT: int[] i = (int[])v; insert(() -> i.length, () -> insertInts(i, dest), dest); return;
-        case TYPE_CODE_LONG: long[] j = (long[])v; insert(() -> j.length, () -> insertLongs(j, dest), dest); return;
-        case TYPE_CODE_BIG_INTEGER: BigInteger[] bi = (BigInteger[])v; insert(() -> bi.length, () -> Encoding.insertBigIntegers(bi, UNIT_LENGTH_BYTES, dest), dest); return;
-        case TYPE_CODE_BIG_DECIMAL: BigDecimal[] bd = (BigDecimal[])v; insert(() -> bd.length, () -> Encoding.insertBigDecimals(bd, UNIT_LENGTH_BYTES, dest), dest); return;
         case TYPE_CODE_ARRAY:  // note that type for String[] has elementType.typeCode() == TYPE_CODE_ARRAY
         case TYPE_CODE_TUPLE:
             final Object[] objects = (Object[]) v;
@@ -308,6 +405,20 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
                 elementType.encodeTail(object, dest);
             }
             return;
+        default:
+            final int len = Array.getLength(v);
+            insert(() -> len, () -> encodeUnits(v, 0, len, dest), dest);
+        }
+    }
+
+    /* encodes elements [from, to) of an array whose elements are each encoded as one unit, e.g. int[] or BigInteger[] */
+    void encodeUnits(Object v, int from, int to, ByteBuffer dest) {
+        switch (elementType.typeCode()) {
+        case TYPE_CODE_BOOLEAN: insertBooleans((boolean[]) v, from, to, dest); return;
+        case TYPE_CODE_INT: insertInts((int[]) v, from, to, dest); return;
+        case TYPE_CODE_LONG: insertLongs((long[]) v, from, to, dest); return;
+        case TYPE_CODE_BIG_INTEGER: insertBigIntegers((BigInteger[]) v, from, to, dest); return;
+        case TYPE_CODE_BIG_DECIMAL: insertBigDecimals((BigDecimal[]) v, from, to, dest); return;
         default: throw new Error();
         }
     }
@@ -321,40 +432,57 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         }
     }
 
-    private static void insertBooleans(boolean[] bools, ByteBuffer dest) {
-        for (boolean e : bools) {
-            dest.put(e ? BooleanType.BOOLEAN_TRUE : BooleanType.BOOLEAN_FALSE);
+    private static void insertBooleans(boolean[] bools, int from, int to, ByteBuffer dest) {
+        for (int i = from; i < to; i++) {
+            dest.put(bools[i] ? BooleanType.BOOLEAN_TRUE : BooleanType.BOOLEAN_FALSE);
         }
     }
 
-    private static void insertInts(int[] ints, ByteBuffer dest) {
-        for (int e : ints) {
-            Encoding.insertInt(e, dest);
+    private static void insertInts(int[] ints, int from, int to, ByteBuffer dest) {
+        for (int i = from; i < to; i++) {
+            Encoding.insertInt(ints[i], dest);
         }
     }
 
-    private static void insertLongs(long[] longs, ByteBuffer dest) {
-        for (long e : longs) {
-            Encoding.insertInt(e, dest);
+    private static void insertLongs(long[] longs, int from, int to, ByteBuffer dest) {
+        for (int i = from; i < to; i++) {
+            Encoding.insertInt(longs[i], dest);
+        }
+    }
+
+    private static void insertBigIntegers(BigInteger[] bigInts, int from, int to, ByteBuffer dest) {
+        for (int i = from; i < to; i++) {
+            Encoding.insertInt(bigInts[i], UNIT_LENGTH_BYTES, dest);
+        }
+    }
+
+    private static void insertBigDecimals(BigDecimal[] bigDecs, int from, int to, ByteBuffer dest) {
+        for (int i = from; i < to; i++) {
+            Encoding.insertInt(bigDecs[i].unscaledValue(), UNIT_LENGTH_BYTES, dest);
         }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     J decode(ByteBuffer bb, byte[] unitBuffer) {
+        return (J) decode(bb, unitBuffer, null);
+    }
+
+    @Override
+    Object decode(ByteBuffer bb, byte[] unitBuffer, DecoderContext ctx) {
         final int arrayLen = length == DYNAMIC_LENGTH
-                ? ARRAY_LENGTH_TYPE.decode(bb, unitBuffer)
+                ? ARRAY_LENGTH_TYPE.decodeInt(bb)
                 : length;
 
         switch (elementType.typeCode()) {
-        case TYPE_CODE_BOOLEAN: return (J) decodeBooleanArray(bb, arrayLen, unitBuffer);
-        case TYPE_CODE_BYTE: return (J) decodeByteArray(bb, arrayLen);
-        case TYPE_CODE_INT: return (J) decodeIntArray((IntType) elementType, bb, arrayLen, unitBuffer);
-        case TYPE_CODE_LONG: return (J) decodeLongArray((LongType) elementType, bb, arrayLen, unitBuffer);
-        case TYPE_CODE_BIG_INTEGER: return (J) decodeBigIntegerArray((BigIntegerType) elementType, bb, arrayLen, unitBuffer);
-        case TYPE_CODE_BIG_DECIMAL: return (J) decodeBigDecimalArray((BigDecimalType) elementType, bb, arrayLen, unitBuffer);
+        case TYPE_CODE_BOOLEAN: return decodeBooleanArray(bb, arrayLen, unitBuffer);
+        case TYPE_CODE_BYTE: return ctx != null && ctx.bytesAsViews ? decodeByteView(bb, arrayLen) : decodeByteArray(bb, arrayLen);
+        case TYPE_CODE_INT: return decodeIntArray((IntType) elementType, bb, arrayLen);
+        case TYPE_CODE_LONG: return decodeLongArray((LongType) elementType, bb, arrayLen);
+        case TYPE_CODE_BIG_INTEGER: return decodeBigIntegerArray((BigIntegerType) elementType, bb, arrayLen, unitBuffer);
+        case TYPE_CODE_BIG_DECIMAL: return decodeBigDecimalArray((BigDecimalType) elementType, bb, arrayLen, unitBuffer);
         case TYPE_CODE_ARRAY:
-        case TYPE_CODE_TUPLE: return (J) decodeObjectArray(arrayLen, bb, unitBuffer);
+        case TYPE_CODE_TUPLE: return decodeObjectArray(arrayLen, bb, unitBuffer, ctx);
         default: throw new Error();
         }
     }
@@ -386,18 +514,28 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         return encodeIfString(out);
     }
 
-    private static int[] decodeIntArray(IntType intType, ByteBuffer bb, int arrayLen, byte[] unitBuffer) {
+    private BytesView decodeByteView(ByteBuffer bb, int arrayLen) {
+        if(bb.remaining() < arrayLen) {
+            throw new BufferUnderflowException(); // as bb.get(byte[]) throws in decodeByteArray
+        }
+        final ByteBuffer payload = bb.slice();
+        payload.limit(arrayLen);
+        bb.position(bb.position() + Integers.roundLengthUp(arrayLen, UNIT_LENGTH_BYTES));
+        return new BytesView(payload.asReadOnlyBuffer(), isString);
+    }
+
+    private static int[] decodeIntArray(IntType intType, ByteBuffer bb, int arrayLen) {
         int[] ints = new int[arrayLen];
         for (int i = 0; i < arrayLen; i++) {
-            ints[i] = decodeBigIntElement(intType, bb, unitBuffer).intValue();
+            ints[i] = intType.decodeInt(bb);
         }
         return ints;
     }
 
-    private static long[] decodeLongArray(LongType longType, ByteBuffer bb, int arrayLen, byte[] unitBuffer) {
+    private static long[] decodeLongArray(LongType longType, ByteBuffer bb, int arrayLen) {
         long[] longs = new long[arrayLen];
         for (int i = 0; i < arrayLen; i++) {
-            longs[i] = decodeBigIntElement(longType, bb, unitBuffer).longValue();
+            longs[i] = longType.decodePrimitive(bb);
         }
         return longs;
     }
@@ -426,17 +564,22 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
         return bi;
     }
 
-    private Object[] decodeObjectArray(int len, ByteBuffer bb, byte[] unitBuffer) {
-        Object[] dest = (Object[]) Array.newInstance(elementType.clazz, len); // reflection ftw
+    private Object[] decodeObjectArray(int len, ByteBuffer bb, byte[] unitBuffer, DecoderContext ctx) {
+        final Class<?> componentClass = ctx != null && ctx.bytesAsViews ? viewClass(elementType) : elementType.clazz;
+        Object[] dest = (Object[]) Array.newInstance(componentClass, len); // reflection ftw
         if(!this.dynamic || !elementType.dynamic) {
             for (int i = 0; i < len; i++) {
-                dest[i] = elementType.decode(bb, unitBuffer);
+                dest[i] = elementType.decode(bb, unitBuffer, ctx);
             }
         } else {
 //            final int index = bb.position(); // *** save this value here if you want to support lenient mode below
             int[] offsets = new int[len];
             for (int i = 0; i < len; i++) {
-                offsets[i] = Encoding.OFFSET_TYPE.decode(bb, unitBuffer);
+                offsets[i] = Encoding.OFFSET_TYPE.decodeInt(bb);
+            }
+            if(ctx != null && ctx.decodeInParallel(len)) {
+                decodeParallel(bb, offsets, dest, ctx);
+                return dest;
             }
             for (int i = 0; i < len; i++) {
                 if (offsets[i] > 0) {
@@ -445,13 +588,108 @@ public final class ArrayType<E extends ABIType<?>, J> extends ABIType<J> {
 //                        System.err.println(ArrayType.class.getName() + " setting " + bb.position() + " to " + (index + offset) + ", offset=" + offset);
 //                        bb.position(index + offset); // lenient
 //                    }
-                    dest[i] = elementType.decode(bb, unitBuffer);
+                    dest[i] = elementType.decode(bb, unitBuffer, ctx);
                 }
             }
         }
         return dest;
     }
 
+    /*
+     * Decodes the tails of dynamic elements on the context's pool, each task through its own duplicate of the buffer.
+     * Offsets are trusted to locate the elements and so, unlike in sequential (strict mode) decoding, which ignores them
+     * and reads the tails back to back, each must point where the previous tail ended or the array is rejected.
+     */
+    private void decodeParallel(ByteBuffer bb, int[] offsets, Object[] dest, DecoderContext ctx) {
+        final int tailsStart = bb.position();
+        final int index = tailsStart - offsets.length * UNIT_LENGTH_BYTES;
+        final int first = nextElement(offsets, 0);
+        if(first < 0) {
+            return;
+        }
+        if(index + offsets[first] != tailsStart) {
+            throw new IllegalArgumentException("illegal offset for element " + first + ": " + offsets[first]);
+        }
+        final ForkJoinPool pool = ctx.pool;
+        final int grain = Math.max(1, offsets.length / (pool.getParallelism() * 4));
+        bb.position(pool.invoke(new DecodeTask(elementType, bb, index, offsets, dest, ctx, first, offsets.length, grain)));
+    }
+
+    private static int nextElement(int[] offsets, int i) {
+        for ( ; i < offsets.length; i++) {
+            if(offsets[i] > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /* decodes the elements in [from, to) and returns the position at which the last of them ends, or -1 if none */
+    private static final class DecodeTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ABIType<?> elementType;
+        private final transient ByteBuffer bb;
+        private final int index;
+        private final int[] offsets;
+        private final Object[] dest;
+        private final transient DecoderContext ctx;
+        private final int from, to, grain;
+
+        DecodeTask(ABIType<?> elementType, ByteBuffer bb, int index, int[] offsets, Object[] dest, DecoderContext ctx, int from, int to, int grain) {
+            this.elementType = elementType;
+            this.bb = bb;
+            this.index = index;
+            this.offsets = offsets;
+            this.dest = dest;
+            this.ctx = ctx;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Integer compute() {
+            if(to - from > grain) {
+                final int mid = (from + to) >>> 1;
+                final DecodeTask right = new DecodeTask(elementType, bb, index, offsets, dest, ctx, mid, to, grain);
+                right.fork();
+                final int leftEnd = new DecodeTask(elementType, bb, index, offsets, dest, ctx, from, mid, grain).compute();
+                final int rightEnd = right.join();
+                return rightEnd >= 0 ? rightEnd : leftEnd;
+            }
+            final ByteBuffer buffer = bb.duplicate();
+            final byte[] unitBuffer = ABIType.newUnitBuffer();
+            int end = -1;
+            int i = nextElement(offsets, from);
+            while (i >= 0 && i < to) {
+                buffer.position(index + offsets[i]);
+                dest[i] = elementType.decode(buffer, unitBuffer, ctx);
+                end = buffer.position();
+                final int next = nextElement(offsets, i + 1);
+                if(next >= 0 && index + offsets[next] != end) {
+                    throw new IllegalArgumentException("illegal offset for element " + next + ": " + offsets[next]);
+                }
+                i = next;
+            }
+            return end;
+        }
+    }
+
+    /* the class of the values decoded for the given type when bytes are decoded as views */
+    private static Class<?> viewClass(ABIType<?> type) {
+        if(type.typeCode() == TYPE_CODE_ARRAY) {
+            final ABIType<?> elementType = ((ArrayType<?, ?>) type).elementType;
+            switch (elementType.typeCode()) {
+            case TYPE_CODE_BYTE: return BytesView.class;
+            case TYPE_CODE_ARRAY: return Array.newInstance(viewClass(elementType), 0).getClass();
+            default:
+            }
+        }
+        return type.clazz;
+    }
+
     @Override
     public J parseArgument(String s) {
         throw new UnsupportedOperationException();
@@ -15,7 +15,6 @@
 */
 package com.esaulpaugh.headlong.abi;
 
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 /** Currently used only as the element type for some {@link ArrayType}s. */
@@ -53,10 +52,7 @@ public final class ByteType extends UnitType<Byte> {
 
     @Override
     Byte decode(ByteBuffer bb, byte[] unitBuffer) {
-        bb.get(unitBuffer);
-        BigInteger bi = new BigInteger(unitBuffer);
-        validateBigInt(bi);
-        return bi.byteValue();
+        return (byte) decodePrimitive(bb);
     }
 
     @Override
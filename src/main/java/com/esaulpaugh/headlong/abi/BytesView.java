@@ -0,0 +1,102 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A read-only window onto the payload of a decoded {@code bytes}, {@code bytesN} or {@code string} value, returned in
+ * place of a {@code byte[]} or {@link String} when decoding with {@link DecoderContext#DecoderContext(boolean)}. No
+ * bytes are copied and, for strings, no characters are decoded until asked for. The view shares the content of the
+ * buffer it was decoded from, which must not be modified while the view is in use.
+ */
+public final class BytesView {
+
+    private final ByteBuffer buffer; // read-only, position 0, limit the payload length
+    private final boolean isString;
+
+    BytesView(ByteBuffer buffer, boolean isString) {
+        this.buffer = buffer;
+        this.isString = isString;
+    }
+
+    public int length() {
+        return buffer.limit();
+    }
+
+    public byte get(int index) {
+        return buffer.get(index);
+    }
+
+    /**
+     * @return  true if this is the payload of a {@code string}
+     */
+    public boolean isString() {
+        return isString;
+    }
+
+    /**
+     * Returns a new read-only buffer over the payload whose position is zero and whose limit is {@link #length()}.
+     *
+     * @return  the payload as a buffer
+     */
+    public ByteBuffer asByteBuffer() {
+        return buffer.duplicate();
+    }
+
+    public byte[] toByteArray() {
+        final byte[] bytes = new byte[buffer.limit()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Decodes the payload as UTF-8, as a normal decode would for a {@code string}.
+     *
+     * @return  the payload as a string
+     */
+    public String asString() {
+        return Strings.encode(toByteArray(), Strings.UTF_8);
+    }
+
+    /**
+     * @return  the value a normal decode would have returned: a {@link String} for a {@code string} and a
+     *          {@code byte[]} otherwise
+     */
+    public Object materialize() {
+        return isString ? asString() : toByteArray();
+    }
+
+    @Override
+    public int hashCode() {
+        return buffer.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BytesView other = (BytesView) o;
+        return isString == other.isString && buffer.equals(other.buffer);
+    }
+
+    @Override
+    public String toString() {
+        return isString ? asString() : Strings.encode(toByteArray());
+    }
+}
@@ -0,0 +1,222 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Integers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_ARRAY;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BYTE;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_TUPLE;
+import static com.esaulpaugh.headlong.abi.ArrayType.DYNAMIC_LENGTH;
+import static com.esaulpaugh.headlong.abi.Encoding.OFFSET_LENGTH_BYTES;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * Writes the standard ABI encoding of already-validated values to an {@link OutputStream} or
+ * {@link WritableByteChannel} through a fixed-size chunk buffer, so that memory use does not grow with the size of the
+ * encoding. Offsets are computed from the {@link LengthTree} recorded during validation instead of by building the tail
+ * in memory. Any value whose encoding fits in the chunk is written by the type's own
+ * {@link ABIType#encodeTail(Object, ByteBuffer, LengthTree)}, so only tuples and arrays too large for the chunk are split.
+ * Byte arrays at least as long as the chunk are written straight through without copying, and larger arrays of other
+ * primitives are encoded into the chunk a run of elements at a time. Not thread-safe.
+ */
+final class ChunkedEncoder {
+
+    static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final OutputStream os;
+    private final WritableByteChannel channel;
+    private final ByteBuffer chunk;
+
+    private long written; // = 0
+
+    private ChunkedEncoder(OutputStream os, WritableByteChannel channel, int chunkSize) {
+        if(chunkSize < UNIT_LENGTH_BYTES) {
+            throw new IllegalArgumentException("chunkSize must be at least " + UNIT_LENGTH_BYTES);
+        }
+        this.os = os;
+        this.channel = channel;
+        this.chunk = ByteBuffer.allocate(chunkSize);
+    }
+
+    static ChunkedEncoder of(OutputStream os, int chunkSize) {
+        return new ChunkedEncoder(os, null, chunkSize);
+    }
+
+    static ChunkedEncoder of(WritableByteChannel channel, int chunkSize) {
+        return new ChunkedEncoder(null, channel, chunkSize);
+    }
+
+    void putRaw(byte[] bytes) throws IOException {
+        if(bytes.length >= chunk.capacity()) {
+            flush();
+            writeThrough(bytes);
+            return;
+        }
+        int off = 0;
+        while (off < bytes.length) {
+            if(!chunk.hasRemaining()) {
+                flush();
+            }
+            final int n = Math.min(chunk.remaining(), bytes.length - off);
+            chunk.put(bytes, off, n);
+            off += n;
+        }
+    }
+
+    /**
+     * Writes out any buffered bytes.
+     *
+     * @return  the total number of bytes written so far
+     * @throws IOException  if the underlying stream or channel throws
+     */
+    long flush() throws IOException {
+        if(chunk.position() > 0) {
+            if(os != null) {
+                os.write(chunk.array(), 0, chunk.position());
+                written += chunk.position();
+            } else {
+                chunk.flip();
+                writeToChannel(chunk);
+            }
+            chunk.clear();
+        }
+        return written;
+    }
+
+    private void writeThrough(byte[] bytes) throws IOException {
+        if(os != null) {
+            os.write(bytes);
+            written += bytes.length;
+        } else {
+            writeToChannel(ByteBuffer.wrap(bytes));
+        }
+    }
+
+    private void writeToChannel(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            written += channel.write(src);
+        }
+    }
+
+    private ByteBuffer unit() throws IOException {
+        if(chunk.remaining() < UNIT_LENGTH_BYTES) {
+            flush();
+        }
+        return chunk;
+    }
+
+    /**
+     * Writes the encoding of a value whose encoded length, {@code byteLen}, is already known from validation. A value that
+     * fits in the chunk is encoded by the type's own {@code encodeTail}; only larger tuples and arrays are split here.
+     */
+    void encode(ABIType<?> type, Object value, int byteLen, LengthTree lengths) throws IOException {
+        if(byteLen <= chunk.capacity()) {
+            if(chunk.remaining() < byteLen) {
+                flush();
+            }
+            if(type.dynamic) {
+                type.encodeTail(value, chunk, lengths);
+            } else {
+                type.encodeHead(value, chunk, 0);
+            }
+        } else if(type.typeCode() == TYPE_CODE_TUPLE) {
+            encodeTuple((TupleType) type, ((Tuple) value).elements, lengths);
+        } else {
+            encodeArray((ArrayType<?, ?>) type, value, lengths);
+        }
+    }
+
+    private void encodeTuple(TupleType tupleType, Object[] values, LengthTree lengths) throws IOException {
+        final ABIType<?>[] types = tupleType.elementTypes;
+        if(!tupleType.dynamic) {
+            for (int i = 0; i < types.length; i++) {
+                encode(types[i], values[i], TupleType.headLength(types[i]), lengths);
+            }
+            return;
+        }
+        final int[] tailLengths = new int[types.length];
+        int nextOffset = tupleType.headLength;
+        for (int i = 0; i < types.length; i++) {
+            final ABIType<?> t = types[i];
+            tailLengths[i] = lengths.next();
+            if(!t.dynamic) {
+                encode(t, values[i], TupleType.headLength(t), lengths);
+            } else {
+                nextOffset = Encoding.insertOffset(nextOffset, unit(), tailLengths[i]);
+            }
+        }
+        for (int i = 0; i < types.length; i++) {
+            if(types[i].dynamic) {
+                encode(types[i], values[i], tailLengths[i], lengths);
+            }
+        }
+    }
+
+    private void encodeArray(ArrayType<?, ?> arrayType, Object value, LengthTree lengths) throws IOException {
+        final ABIType<?> elementType = arrayType.elementType;
+        final int elementTypeCode = elementType.typeCode();
+        if(elementTypeCode == TYPE_CODE_BYTE) {
+            final byte[] arr = (byte[]) arrayType.decodeIfString(value);
+            insertLength(arrayType, arr.length);
+            putRaw(arr);
+            final int rem = Integers.mod(arr.length, UNIT_LENGTH_BYTES);
+            Encoding.insertPadding(rem != 0 ? UNIT_LENGTH_BYTES - rem : 0, false, unit());
+            return;
+        }
+        if(elementTypeCode != TYPE_CODE_ARRAY && elementTypeCode != TYPE_CODE_TUPLE) {
+            final int len = Array.getLength(value);
+            insertLength(arrayType, len);
+            int i = 0;
+            while (i < len) {
+                final int to = Math.min(len, i + unit().remaining() / UNIT_LENGTH_BYTES);
+                arrayType.encodeUnits(value, i, to, chunk);
+                i = to;
+            }
+            return;
+        }
+        final Object[] arr = (Object[]) value;
+        insertLength(arrayType, arr.length);
+        if(!elementType.dynamic) {
+            final int elementLen = TupleType.headLength(elementType);
+            for (Object e : arr) {
+                encode(elementType, e, elementLen, lengths);
+            }
+            return;
+        }
+        final int[] tailLengths = new int[arr.length];
+        int nextOffset = arr.length * OFFSET_LENGTH_BYTES;
+        for (int i = 0; i < arr.length; i++) {
+            tailLengths[i] = lengths.next();
+            nextOffset = Encoding.insertOffset(nextOffset, unit(), tailLengths[i]);
+        }
+        for (int i = 0; i < arr.length; i++) {
+            encode(elementType, arr[i], tailLengths[i], lengths);
+        }
+    }
+
+    private void insertLength(ArrayType<?, ?> arrayType, int length) throws IOException {
+        if(arrayType.length == DYNAMIC_LENGTH) {
+            Encoding.insertInt(length, unit());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scratch space for decoding many values in a loop, so that each decode does not allocate its own unit buffer, along
+ * with optional decoding modes. Not thread-safe; use one context per thread.
+ *
+ * @see Function#decodeCall(java.nio.ByteBuffer, DecoderContext)
+ * @see TupleType#decode(java.nio.ByteBuffer, DecoderContext)
+ */
+public final class DecoderContext {
+
+    final byte[] unitBuffer = ABIType.newUnitBuffer();
+    final boolean bytesAsViews;
+    final ForkJoinPool pool;
+    final int parallelThreshold;
+
+    public DecoderContext() {
+        this(false);
+    }
+
+    /**
+     * @param bytesAsViews  whether to decode {@code bytes}, {@code bytesN} and {@code string} values as {@link BytesView}s
+     *                      over the source buffer instead of copying them into new {@code byte[]}s and {@link String}s
+     */
+    public DecoderContext(boolean bytesAsViews) {
+        this.bytesAsViews = bytesAsViews;
+        this.pool = null;
+        this.parallelThreshold = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Creates a context which, in addition, decodes the elements of dynamic arrays of dynamic types (e.g.
+     * {@code (address,uint256,bytes)[]}) concurrently on {@code pool} when an array has at least
+     * {@code parallelThreshold} elements. The context itself must still be used by only one thread at a time.
+     * <p>
+     * Because parallel decoding locates elements by their offsets, such an array is rejected unless each element's
+     * offset points where the previous element's tail ended. Arrays below the threshold, like all arrays decoded
+     * without a pool, are read in strict mode, which ignores element offsets.
+     *
+     * @param bytesAsViews  see {@link #DecoderContext(boolean)}
+     * @param pool  the pool on which to decode large arrays
+     * @param parallelThreshold the minimum number of elements for which to decode an array in parallel
+     */
+    public DecoderContext(boolean bytesAsViews, ForkJoinPool pool, int parallelThreshold) {
+        if(parallelThreshold < 2) {
+            throw new IllegalArgumentException("parallelThreshold < 2: " + parallelThreshold);
+        }
+        this.bytesAsViews = bytesAsViews;
+        this.pool = Objects.requireNonNull(pool);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    boolean decodeInParallel(int arrayLen) {
+        return pool != null && arrayLen >= parallelThreshold;
+    }
+}
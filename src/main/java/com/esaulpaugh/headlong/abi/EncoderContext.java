@@ -0,0 +1,110 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scratch state for encoding many values in a loop: a growable destination buffer and the {@link LengthTree} of the
+ * value being encoded. The buffer returned by an encode method is owned by the context and is overwritten by the next
+ * encode, so callers must consume it (or copy it) before reusing the context. Once the buffer has grown to fit the
+ * largest encoding, steady-state encoding allocates nothing beyond the caller's values. Not thread-safe; use one
+ * context per thread.
+ *
+ * @see Function#encodeCall(Tuple, EncoderContext)
+ * @see TupleType#encode(Tuple, EncoderContext)
+ */
+public final class EncoderContext {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final boolean direct;
+    private final LengthTree lengths;
+    private ByteBuffer buffer;
+
+    public EncoderContext() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * @param initialCapacity   the initial size of the buffer in bytes
+     * @param direct    whether to use {@link ByteBuffer#allocateDirect(int)} rather than a heap buffer
+     */
+    public EncoderContext(int initialCapacity, boolean direct) {
+        this(initialCapacity, direct, new LengthTree());
+    }
+
+    /**
+     * Creates a context which, in addition, encodes the elements of dynamic arrays of dynamic types (e.g. {@code bytes[]}
+     * or {@code (address,bytes)[]}) concurrently on {@code pool} when an array has at least {@code parallelThreshold}
+     * elements. The elements' lengths are computed first, giving each element a fixed window of the destination buffer
+     * into which it is encoded independently. The context itself must still be used by only one thread at a time.
+     *
+     * @param initialCapacity   the initial size of the buffer in bytes
+     * @param direct    whether to use {@link ByteBuffer#allocateDirect(int)} rather than a heap buffer
+     * @param pool  the pool on which to encode large arrays
+     * @param parallelThreshold the minimum number of elements for which to encode an array in parallel
+     */
+    public EncoderContext(int initialCapacity, boolean direct, ForkJoinPool pool, int parallelThreshold) {
+        this(initialCapacity, direct, new LengthTree(16, Objects.requireNonNull(pool), checkThreshold(parallelThreshold)));
+    }
+
+    private EncoderContext(int initialCapacity, boolean direct, LengthTree lengths) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be non-negative");
+        }
+        this.direct = direct;
+        this.lengths = lengths;
+        this.buffer = allocate(initialCapacity);
+    }
+
+    private static int checkThreshold(int parallelThreshold) {
+        if(parallelThreshold < 2) {
+            throw new IllegalArgumentException("parallelThreshold < 2: " + parallelThreshold);
+        }
+        return parallelThreshold;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    LengthTree lengths() {
+        return lengths.reset();
+    }
+
+    /**
+     * Returns the buffer, grown if necessary, with its position at zero and its limit at {@code len}.
+     */
+    ByteBuffer buffer(int len) {
+        if(len > buffer.capacity()) {
+            buffer = allocate(Math.max(len, buffer.capacity() << 1));
+        }
+        buffer.clear();
+        buffer.limit(len);
+        return buffer;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity); // ByteOrder.BIG_ENDIAN by default
+    }
+}
@@ -16,11 +16,15 @@
 package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.util.JsonUtils;
+import com.esaulpaugh.headlong.util.Strings;
 import com.google.gson.JsonObject;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
 /** Represents an event in Ethereum. */
 public final class Event implements ABIObject {
 
@@ -32,6 +36,10 @@ public final class Event implements ABIObject {
 
     private final boolean anonymous;
 
+    private final TupleType nonIndexedParams;
+
+    private final byte[] signatureHash;
+
     public Event(String name, String paramsString, boolean[] indexed) {
         this(name, paramsString, indexed, false);
     }
@@ -48,6 +56,8 @@ public final class Event implements ABIObject {
         }
         this.indexManifest = Arrays.copyOf(indexed, indexed.length);
         this.anonymous = anonymous;
+        this.nonIndexedParams = inputs.subTupleType(indexManifest, true);
+        this.signatureHash = SignatureCache.hash(signature());
     }
 
     public String getName() {
@@ -75,7 +85,66 @@ public final class Event implements ABIObject {
     }
 
     public TupleType getNonIndexedParams() {
-        return inputs.subTupleType(indexManifest, true);
+        return nonIndexedParams;
+    }
+
+    /**
+     * Returns the Keccak-256 hash of this event's signature, which for non-anonymous events is the first topic of each
+     * log emitted.
+     *
+     * @return  the 32-byte signature hash
+     */
+    public byte[] getSignatureHash() {
+        return Arrays.copyOf(signatureHash, signatureHash.length);
+    }
+
+    boolean signatureHashEquals(byte[] topic) {
+        return Arrays.equals(signatureHash, topic);
+    }
+
+    /**
+     * Decodes a log emitted by this event. Indexed parameters of value types (integers, booleans, addresses, bytesN,
+     * decimals) are decoded from their topics. Indexed parameters of other types are stored only as hashes and so are
+     * returned as the raw 32-byte topic. The returned {@link Tuple} contains all parameters in declaration order.
+     *
+     * @param topics    the log's topics, including the signature hash as the first topic unless anonymous
+     * @param data      the log's data, i.e. the ABI encoding of the non-indexed parameters
+     * @return  the decoded parameters
+     * @throws IllegalArgumentException if the topics do not match this event or if the data is malformed
+     */
+    public Tuple decodeLog(byte[][] topics, byte[] data) {
+        int t = 0;
+        if (!anonymous) {
+            if (topics.length == 0 || !signatureHashEquals(topics[0])) {
+                throw new IllegalArgumentException("unexpected topic0: expected " + Strings.encode(signatureHash)
+                        + ", found " + (topics.length == 0 ? null : Strings.encode(topics[0])));
+            }
+            t = 1;
+        }
+        final int indexedCount = inputs.elementTypes.length - nonIndexedParams.elementTypes.length;
+        if (topics.length - t != indexedCount) {
+            throw new IllegalArgumentException("expected " + indexedCount + " indexed topics, found " + (topics.length - t));
+        }
+        final Object[] nonIndexed = nonIndexedParams.decode(data).elements;
+        final ABIType<?>[] types = inputs.elementTypes;
+        final Object[] elements = new Object[types.length];
+        final byte[] unitBuffer = ABIType.newUnitBuffer();
+        for (int i = 0, n = 0; i < types.length; i++) {
+            elements[i] = indexManifest[i]
+                    ? decodeTopic(types[i], topics[t++], unitBuffer)
+                    : nonIndexed[n++];
+        }
+        return new Tuple(elements);
+    }
+
+    private static Object decodeTopic(ABIType<?> type, byte[] topic, byte[] unitBuffer) {
+        if (topic.length != UNIT_LENGTH_BYTES) {
+            throw new IllegalArgumentException("topic length must be " + UNIT_LENGTH_BYTES);
+        }
+        if (type instanceof UnitType || (type instanceof ArrayType && !type.dynamic && ((ArrayType<?, ?>) type).elementType instanceof ByteType)) {
+            return type.decode(ByteBuffer.wrap(topic), unitBuffer);
+        }
+        return Arrays.copyOf(topic, UNIT_LENGTH_BYTES); // hash of the value
     }
 
     @Override
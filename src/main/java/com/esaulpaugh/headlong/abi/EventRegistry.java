@@ -0,0 +1,176 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.util.Collection;
+
+/**
+ * An immutable index of a contract's events by their signature hashes (topic0), for dispatching logs to the matching
+ * {@link Event}. Anonymous events have no topic0 and are not indexed. Safe for use by multiple threads.
+ */
+public final class EventRegistry {
+
+    private final Event[] values;
+    private final int mask;
+    private final int size;
+
+    public EventRegistry(Collection<Event> events) {
+        int capacity = 2;
+        while (capacity < events.size() * 2) { // load factor at most 0.5
+            capacity <<= 1;
+        }
+        this.values = new Event[capacity];
+        this.mask = capacity - 1;
+        int count = 0;
+        for (Event e : events) {
+            if(!e.isAnonymous()) {
+                put(e);
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    private void put(Event e) {
+        final byte[] hash = e.getSignatureHash();
+        int i = hashInt(hash) & mask;
+        Event existing;
+        while ((existing = values[i]) != null) {
+            if(existing.signatureHashEquals(hash)) {
+                throw new IllegalArgumentException("duplicate event signature: " + e.signature());
+            }
+            i = (i + 1) & mask;
+        }
+        values[i] = e;
+    }
+
+    /**
+     * Returns the event whose signature hash equals the given topic, or null if none exists.
+     *
+     * @param topic0    the first topic of a log
+     * @return  the matching event or null
+     */
+    public Event get(byte[] topic0) {
+        if(topic0.length < Integer.BYTES) {
+            return null;
+        }
+        int i = hashInt(topic0) & mask; // topics are hashes already
+        Event e;
+        while ((e = values[i]) != null) {
+            if(e.signatureHashEquals(topic0)) {
+                return e;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes a log using the event whose signature hash matches the log's first topic.
+     *
+     * @param topics    the log's topics
+     * @param data      the log's data
+     * @return  the event and the decoded parameters
+     * @throws IllegalArgumentException if no event matches or if the log is malformed
+     * @see Event#decodeLog(byte[][], byte[])
+     */
+    public DecodedLog decodeLog(byte[][] topics, byte[] data) {
+        final Event e = topics.length != 0 ? get(topics[0]) : null;
+        if(e == null) {
+            throw new IllegalArgumentException("unrecognized topic0: " + (topics.length == 0 ? null : Strings.encode(topics[0])));
+        }
+        return new DecodedLog(e, e.decodeLog(topics, data));
+    }
+
+    /**
+     * Decodes a batch of logs (e.g. all logs of a block) in one pass. Logs whose first topic matches no indexed event
+     * yield null, so that the output is aligned with the input.
+     *
+     * @param topics    the topics of each log
+     * @param data      the data of each log
+     * @return  the decoded logs in input order, with null for each unrecognized log
+     * @throws IllegalArgumentException if a recognized log is malformed
+     */
+    public DecodedLog[] decodeLogs(byte[][][] topics, byte[][] data) {
+        if(topics.length != data.length) {
+            throw new IllegalArgumentException("topics.length != data.length: " + topics.length + " != " + data.length);
+        }
+        final DecodedLog[] logs = new DecodedLog[topics.length];
+        for (int i = 0; i < logs.length; i++) {
+            final byte[][] t = topics[i];
+            final Event e = t.length != 0 ? get(t[0]) : null;
+            if(e != null) {
+                logs[i] = new DecodedLog(e, e.decodeLog(t, data[i]));
+            }
+        }
+        return logs;
+    }
+
+    private static int hashInt(byte[] hash) {
+        return hash[0] << 24
+                | (hash[1] & 0xFF) << 16
+                | (hash[2] & 0xFF) << 8
+                | (hash[3] & 0xFF);
+    }
+
+    public static EventRegistry fromJson(String arrayJson) {
+        return new EventRegistry(ABIJSON.parseEvents(arrayJson));
+    }
+
+    /** An {@link Event} paired with the parameters decoded from one of its logs. */
+    public static final class DecodedLog {
+
+        private final Event event;
+        private final Tuple params;
+
+        DecodedLog(Event event, Tuple params) {
+            this.event = event;
+            this.params = params;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public Tuple getParams() {
+            return params;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * event.hashCode() + params.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DecodedLog other = (DecodedLog) o;
+            return event.equals(other.event) && params.equals(other.params);
+        }
+
+        @Override
+        public String toString() {
+            return event.signature() + " " + params;
+        }
+    }
+}
@@ -21,8 +21,12 @@ import com.esaulpaugh.headlong.util.JsonUtils;
 import com.esaulpaugh.headlong.util.Strings;
 import com.google.gson.JsonObject;
 import com.joemelsha.crypto.hash.Keccak;
+import com.joemelsha.crypto.hash.Keccak256;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.security.DigestException;
 import java.security.MessageDigest;
 import java.util.Arrays;
@@ -199,6 +203,10 @@ public final class Function implements ABIObject {
     }
 
     private void generateSelector(MessageDigest messageDigest) {
+        if(messageDigest instanceof Keccak && messageDigest.getDigestLength() == Keccak256.DIGEST_LEN) {
+            System.arraycopy(SignatureCache.hash(getCanonicalSignature()), 0, selector, 0, SELECTOR_LEN);
+            return;
+        }
         messageDigest.reset();
         messageDigest.update(Strings.decode(getCanonicalSignature(), Strings.UTF_8));
         try {
@@ -212,29 +220,111 @@ public final class Function implements ABIObject {
         return Function.SELECTOR_LEN + inputTypes.measureEncodedLength(args);
     }
 
+    private int validateCall(Tuple args, LengthTree lengths) {
+        return Function.SELECTOR_LEN + inputTypes.validate(args, lengths);
+    }
+
     public ByteBuffer encodeCallWithArgs(Object... args) {
         return encodeCall(new Tuple(args));
     }
 
     public ByteBuffer encodeCall(Tuple args) {
-        ByteBuffer dest = ByteBuffer.wrap(new byte[measureCallLength(args)]); // ByteOrder.BIG_ENDIAN by default
-        encodeCall(args, dest);
+        final LengthTree lengths = new LengthTree();
+        ByteBuffer dest = ByteBuffer.wrap(new byte[validateCall(args, lengths)]); // ByteOrder.BIG_ENDIAN by default
+        dest.put(selector);
+        inputTypes.encodeTail(args, dest, lengths);
         return dest;
     }
 
     public Function encodeCall(Tuple args, ByteBuffer dest) {
-        inputTypes.validate(args);
+        final LengthTree lengths = new LengthTree();
+        validateCall(args, lengths);
         dest.put(selector);
-        inputTypes.encodeTail(args, dest);
+        inputTypes.encodeTail(args, dest, lengths);
         return this;
     }
 
+    /**
+     * Encodes the call into the context's buffer, which is returned with its position at zero and its limit at the end
+     * of the encoding. The returned buffer belongs to the context and is overwritten by its next use.
+     *
+     * @param args  the function arguments
+     * @param ctx   the reusable encoding state
+     * @return  the context's buffer containing the call
+     */
+    public ByteBuffer encodeCall(Tuple args, EncoderContext ctx) {
+        final LengthTree lengths = ctx.lengths();
+        final ByteBuffer dest = ctx.buffer(validateCall(args, lengths));
+        dest.put(selector);
+        inputTypes.encodeTail(args, dest, lengths);
+        dest.flip();
+        return dest;
+    }
+
+    public int encodeCall(Tuple args, OutputStream os) throws IOException {
+        return encodeCall(args, ChunkedEncoder.of(os, ChunkedEncoder.DEFAULT_CHUNK_SIZE));
+    }
+
+    public int encodeCall(Tuple args, OutputStream os, int chunkSize) throws IOException {
+        return encodeCall(args, ChunkedEncoder.of(os, chunkSize));
+    }
+
+    public int encodeCall(Tuple args, WritableByteChannel channel) throws IOException {
+        return encodeCall(args, ChunkedEncoder.of(channel, ChunkedEncoder.DEFAULT_CHUNK_SIZE));
+    }
+
+    /**
+     * Writes the call to the channel in chunks without materializing the whole encoding.
+     *
+     * @param args      the function arguments
+     * @param channel   the destination channel
+     * @param chunkSize the size of the intermediate buffer; at least {@link UnitType#UNIT_LENGTH_BYTES}
+     * @return  the number of bytes written
+     * @throws IOException  if the channel throws
+     * @see TupleType#encode(Tuple, WritableByteChannel, int)
+     */
+    public int encodeCall(Tuple args, WritableByteChannel channel, int chunkSize) throws IOException {
+        return encodeCall(args, ChunkedEncoder.of(channel, chunkSize));
+    }
+
+    private int encodeCall(Tuple args, ChunkedEncoder encoder) throws IOException {
+        final LengthTree lengths = new LengthTree();
+        final int len = validateCall(args, lengths);
+        encoder.putRaw(selector);
+        encoder.encode(inputTypes, args, len - SELECTOR_LEN, lengths);
+        encoder.flush();
+        return len;
+    }
+
     public Tuple decodeCall(byte[] array) {
         return decodeCall(ByteBuffer.wrap(array));
     }
 
     public Tuple decodeCall(ByteBuffer abiBuffer) {
         final byte[] unitBuffer = ABIType.newUnitBuffer();
+        checkSelector(abiBuffer, unitBuffer);
+        return inputTypes.decode(abiBuffer, unitBuffer);
+    }
+
+    public Tuple decodeCall(ByteBuffer abiBuffer, DecoderContext ctx) {
+        checkSelector(abiBuffer, ctx.unitBuffer);
+        return inputTypes.decode(abiBuffer, ctx);
+    }
+
+    /**
+     * Checks the selector and returns a lazily-decoded view of the call's arguments. Advances the buffer's position past
+     * the selector only.
+     *
+     * @param abiBuffer the buffer containing the call
+     * @return  the view of the arguments
+     * @see TupleType#decodeLazily(ByteBuffer)
+     */
+    public TupleView decodeCallLazily(ByteBuffer abiBuffer) {
+        checkSelector(abiBuffer, ABIType.newUnitBuffer());
+        return inputTypes.decodeLazily(abiBuffer);
+    }
+
+    private void checkSelector(ByteBuffer abiBuffer, byte[] unitBuffer) {
         abiBuffer.get(unitBuffer, 0, SELECTOR_LEN);
         for(int i = 0; i < SELECTOR_LEN; i++) {
             if(unitBuffer[i] != selector[i]) {
@@ -242,7 +332,6 @@ public final class Function implements ABIObject {
                         + ", found: " + Strings.encode(unitBuffer, 0, SELECTOR_LEN, Strings.HEX));
             }
         }
-        return inputTypes.decode(abiBuffer, unitBuffer);
     }
 
     public Tuple decodeReturn(byte[] returnVals) {
@@ -284,8 +373,16 @@ public final class Function implements ABIObject {
         return pretty ? JsonUtils.toPrettyPrint(object) : object.toString();
     }
 // ---------------------------------------------------------------------------------------------------------------------
+    /**
+     * Returns the function with the given signature and no outputs, hashed with Keccak-256. Functions are immutable, so
+     * the returned instance may be one cached from an earlier call with the same signature.
+     *
+     * @param signature the function's signature e.g. "foo(int,bool)"
+     * @return  the function
+     * @see SignatureCache
+     */
     public static Function parse(String signature) {
-        return new Function(signature);
+        return SignatureCache.function(signature);
     }
 
     public static Function parse(String signature, MessageDigest messageDigest) {
@@ -0,0 +1,181 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.util.Collection;
+
+import static com.esaulpaugh.headlong.abi.Function.SELECTOR_LEN;
+
+/**
+ * An immutable index of a contract's functions by their 4-byte selectors. Decodes calls to any of the indexed functions
+ * with a single lookup. Only functions of type {@link Function.Type#FUNCTION} are indexed. Safe for use by multiple
+ * threads.
+ */
+public final class FunctionRegistry {
+
+    private final int[] keys;
+    private final Function[] values;
+    private final int mask;
+    private final int size;
+
+    public FunctionRegistry(Collection<Function> functions) {
+        int capacity = 2;
+        while (capacity < functions.size() * 2) { // load factor at most 0.5
+            capacity <<= 1;
+        }
+        this.keys = new int[capacity];
+        this.values = new Function[capacity];
+        this.mask = capacity - 1;
+        int count = 0;
+        for (Function f : functions) {
+            if(f.getType() == Function.Type.FUNCTION) {
+                put(f);
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    private void put(Function f) {
+        final int key = selectorInt(f.selector(), 0);
+        int i = key & mask;
+        Function existing;
+        while ((existing = values[i]) != null) {
+            if(keys[i] == key) {
+                throw new IllegalArgumentException("duplicate selector " + f.selectorHex() + ": "
+                        + existing.getCanonicalSignature() + ", " + f.getCanonicalSignature());
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = f;
+    }
+
+    /**
+     * Returns the function with the given selector, or null if none exists.
+     *
+     * @param selector  the selector as a big-endian int
+     * @return  the matching function or null
+     */
+    public Function get(int selector) {
+        int i = selector & mask; // selectors are hashes already
+        Function f;
+        while ((f = values[i]) != null) {
+            if(keys[i] == selector) {
+                return f;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public Function get(byte[] selector) {
+        if(selector.length != SELECTOR_LEN) {
+            throw new IllegalArgumentException("selector length must be " + SELECTOR_LEN);
+        }
+        return get(selectorInt(selector, 0));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public DecodedCall decodeCall(byte[] call) {
+        ByteBuffer bb = ByteBuffer.wrap(call);
+        DecodedCall decoded = decodeCall(bb);
+        final int remaining = bb.remaining();
+        if(remaining == 0) {
+            return decoded;
+        }
+        throw new IllegalArgumentException("unconsumed bytes: " + remaining + " remaining");
+    }
+
+    /**
+     * Decodes the call at the buffer's current position using the function whose selector matches the call's first four
+     * bytes.
+     *
+     * @param abiBuffer the buffer containing the call
+     * @return  the function and the decoded arguments
+     * @throws IllegalArgumentException if no function matches the selector or if the call is malformed
+     */
+    public DecodedCall decodeCall(ByteBuffer abiBuffer) {
+        final int word = abiBuffer.getInt();
+        final int selector = abiBuffer.order() == ByteOrder.BIG_ENDIAN ? word : Integer.reverseBytes(word);
+        final Function f = get(selector);
+        if(f == null) {
+            throw new IllegalArgumentException("unrecognized selector: " + Strings.encode(ByteBuffer.allocate(SELECTOR_LEN).putInt(selector).array()));
+        }
+        return new DecodedCall(f, f.getParamTypes().decode(abiBuffer));
+    }
+
+    private static int selectorInt(byte[] buffer, int offset) {
+        return buffer[offset] << 24
+                | (buffer[offset + 1] & 0xFF) << 16
+                | (buffer[offset + 2] & 0xFF) << 8
+                | (buffer[offset + 3] & 0xFF);
+    }
+
+    public static FunctionRegistry fromJson(String arrayJson) {
+        return new FunctionRegistry(ABIJSON.parseFunctions(arrayJson));
+    }
+
+    public static FunctionRegistry fromJson(String arrayJson, MessageDigest digest) {
+        return new FunctionRegistry(ABIJSON.parseFunctions(arrayJson, digest));
+    }
+
+    /** A {@link Function} paired with the arguments decoded from a call to it. */
+    public static final class DecodedCall {
+
+        private final Function function;
+        private final Tuple args;
+
+        DecodedCall(Function function, Tuple args) {
+            this.function = function;
+            this.args = args;
+        }
+
+        public Function getFunction() {
+            return function;
+        }
+
+        public Tuple getArgs() {
+            return args;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * function.hashCode() + args.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DecodedCall other = (DecodedCall) o;
+            return function.equals(other.function) && args.equals(other.args);
+        }
+
+        @Override
+        public String toString() {
+            return function.getCanonicalSignature() + " " + args;
+        }
+    }
+}
@@ -15,7 +15,6 @@
 */
 package com.esaulpaugh.headlong.abi;
 
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 public final class IntType extends UnitType<Integer> {
@@ -38,10 +37,11 @@ public final class IntType extends UnitType<Integer> {
 
     @Override
     Integer decode(ByteBuffer bb, byte[] unitBuffer) {
-        bb.get(unitBuffer);
-        BigInteger bi = new BigInteger(unitBuffer);
-        validateBigInt(bi);
-        return bi.intValue();
+        return decodeInt(bb);
+    }
+
+    int decodeInt(ByteBuffer bb) {
+        return (int) decodePrimitive(bb);
     }
 
     @Override
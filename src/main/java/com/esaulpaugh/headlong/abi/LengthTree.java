@@ -0,0 +1,86 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The encoded lengths of the dynamic nodes of a value, recorded during validation in the order in which the encoder
+ * needs them. Each dynamic tuple reserves one slot per element and each array of dynamic elements one slot per element;
+ * the slots are filled as the children are validated and then consumed front to back while offsets are written, so that
+ * no length is computed twice. Reusable via {@link #reset()}. Not thread-safe.
+ * <p>
+ * If given a pool, arrays of dynamic elements with at least {@code parallelThreshold} elements record only their
+ * elements' lengths, not the elements' own dynamic nodes, and their elements are encoded concurrently on the pool.
+ */
+final class LengthTree {
+
+    private int[] lengths;
+    private int size; // = 0
+    private int readIndex; // = 0
+
+    final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    LengthTree() {
+        this(16);
+    }
+
+    LengthTree(int initialCapacity) {
+        this(initialCapacity, null, Integer.MAX_VALUE);
+    }
+
+    LengthTree(int initialCapacity, ForkJoinPool pool, int parallelThreshold) {
+        this.lengths = new int[initialCapacity];
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    boolean encodeInParallel(int arrayLen) {
+        return pool != null && arrayLen >= parallelThreshold;
+    }
+
+    /**
+     * Reserves {@code n} consecutive slots.
+     *
+     * @param n the number of slots
+     * @return  the index of the first reserved slot
+     */
+    int reserve(int n) {
+        final int start = size;
+        final int newSize = start + n;
+        if(newSize > lengths.length) {
+            lengths = Arrays.copyOf(lengths, Math.max(newSize, lengths.length << 1));
+        }
+        size = newSize;
+        return start;
+    }
+
+    void set(int index, int length) {
+        lengths[index] = length;
+    }
+
+    int next() {
+        return lengths[readIndex++];
+    }
+
+    LengthTree reset() {
+        size = 0;
+        readIndex = 0;
+        return this;
+    }
+}
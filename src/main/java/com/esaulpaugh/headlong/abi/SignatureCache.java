@@ -0,0 +1,116 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+import com.joemelsha.crypto.hash.Keccak256;
+
+/**
+ * Bounded, thread-safe, least-recently-used caches of the work done to construct {@link Function}s and {@link Event}s
+ * from signatures: one maps canonical signatures to their Keccak-256 hashes (from which selectors and topics are taken)
+ * and one maps raw signature strings to the {@link Function}s parsed from them by {@link Function#parse(String)}.
+ * Failed parses are not cached.
+ */
+public final class SignatureCache {
+
+    /** The maximum number of entries in each cache. */
+    public static final int MAX_SIZE = 4096;
+
+    private static final LruCache<String, byte[]> HASHES = new LruCache<>(MAX_SIZE);
+    private static final LruCache<String, Function> FUNCTIONS = new LruCache<>(MAX_SIZE);
+
+    private SignatureCache() {}
+
+    /* the returned array is shared and must not be modified */
+    static byte[] hash(String canonicalSignature) {
+        return HASHES.get(canonicalSignature, s -> Keccak256.hash(Strings.decode(s, Strings.UTF_8)));
+    }
+
+    static Function function(String signature) {
+        return FUNCTIONS.get(signature, s -> new Function(s));
+    }
+
+    /**
+     * Returns a snapshot of the counters of the cache of signature hashes, shared by all {@link Function}s and
+     * {@link Event}s.
+     *
+     * @return  the statistics
+     */
+    public static Stats hashStats() {
+        return new Stats(HASHES);
+    }
+
+    /**
+     * Returns a snapshot of the counters of the cache of {@link Function}s parsed by {@link Function#parse(String)}.
+     *
+     * @return  the statistics
+     */
+    public static Stats functionStats() {
+        return new Stats(FUNCTIONS);
+    }
+
+    /**
+     * Removes every entry from both caches. The caches are global to the process (more precisely, to this class's
+     * class loader), so this affects every user of this library in it, which is why it is for tests and benchmarks only;
+     * subsequent lookups recompute their values. Hit, miss and eviction counters are not reset.
+     */
+    static void clear() {
+        HASHES.clear();
+        FUNCTIONS.clear();
+    }
+
+    /** A snapshot of one cache's counters, which are cumulative and never reset. */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+
+        Stats(LruCache<?, ?> cache) {
+            this.hits = cache.hits();
+            this.misses = cache.misses();
+            this.evictions = cache.evictions();
+            this.size = cache.size();
+        }
+
+        public long hits() {
+            return hits;
+        }
+
+        public long misses() {
+            return misses;
+        }
+
+        public long evictions() {
+            return evictions;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double hitRate() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : hits / (double) lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size;
+        }
+    }
+}
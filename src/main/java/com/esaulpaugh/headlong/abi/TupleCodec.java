@@ -0,0 +1,387 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_ARRAY;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BIG_DECIMAL;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BIG_INTEGER;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BOOLEAN;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BYTE;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_INT;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_LONG;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_TUPLE;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+import static com.esaulpaugh.headlong.util.Strings.UTF_8;
+
+/**
+ * A {@link TupleType} compiled into a flat program of one instruction per leaf of its head. Static tuples nested in the
+ * head are inlined, so that the program visits every unit, static array and offset of the head in order with a single
+ * loop, and each instruction is specialized to its type: integers, booleans and decimals are encoded and decoded without
+ * a virtual call through {@link ABIType}, and the UTF-8 bytes of a {@code string} are computed once per encoding instead
+ * of once to measure and again to write. Dynamic tuples are compiled recursively; arrays other than {@code bytes} and
+ * {@code string} are delegated to their {@link ArrayType}.
+ * <p>
+ * Encodings, decoded values and exception messages are identical to those of the {@link TupleType}. Thread-safe.
+ * Internal until benchmarks show a clear win over the {@link TupleType}'s own encoding and decoding.
+ *
+ * @see TupleType#compile()
+ */
+final class TupleCodec {
+
+    private static final byte OP_BOOLEAN = 0;
+    private static final byte OP_INT = 1;
+    private static final byte OP_LONG = 2;
+    private static final byte OP_BIG_INTEGER = 3;
+    private static final byte OP_BIG_DECIMAL = 4;
+    private static final byte OP_STATIC = 5; // any other static type
+    private static final byte OP_BYTES = 6;
+    private static final byte OP_STRING = 7;
+    private static final byte OP_TUPLE = 8; // dynamic tuple
+    private static final byte OP_DYNAMIC = 9; // any other dynamic type
+
+    private static final int[] NO_OFFSETS = new int[0];
+    private static final Object[] NO_TAILS = new Object[0];
+
+    private final TupleType tupleType;
+    private final boolean inlined; // whether any leaf belongs to a nested static tuple
+    private final boolean usesLengths; // whether any OP_DYNAMIC instruction is reachable
+    private final byte[] ops;
+    private final ABIType<?>[] types;
+    private final String[] prefixes; // exception message prefix of each leaf, as TupleType.validate would nest it
+    private final TupleCodec[] children; // per leaf; non-null only for OP_TUPLE
+    private final int[] dynamicLeaves; // leaf index of each offset in the head, in order
+
+    TupleCodec(TupleType tupleType) {
+        final List<ABIType<?>> leaves = new ArrayList<>();
+        final List<String> prefixList = new ArrayList<>();
+        flattenTypes(tupleType, "", leaves, prefixList);
+        final int n = leaves.size();
+        this.tupleType = tupleType;
+        this.ops = new byte[n];
+        this.types = leaves.toArray(ABIType.EMPTY_TYPE_ARRAY);
+        this.prefixes = prefixList.toArray(new String[0]);
+        this.children = new TupleCodec[n];
+        int dynamicCount = 0;
+        boolean usesLengths = false;
+        for (int k = 0; k < n; k++) {
+            final byte op = op(types[k]);
+            ops[k] = op;
+            if(op == OP_TUPLE) {
+                children[k] = ((TupleType) types[k]).compile();
+                usesLengths |= children[k].usesLengths;
+            } else {
+                usesLengths |= op == OP_DYNAMIC;
+            }
+            if(types[k].dynamic) {
+                dynamicCount++;
+            }
+        }
+        boolean inlined = false;
+        for (ABIType<?> e : tupleType.elementTypes) {
+            inlined |= isInline(e);
+        }
+        this.inlined = inlined;
+        this.usesLengths = usesLengths;
+        this.dynamicLeaves = new int[dynamicCount];
+        for (int k = 0, d = 0; k < n; k++) {
+            if(types[k].dynamic) {
+                dynamicLeaves[d++] = k;
+            }
+        }
+    }
+
+    private static boolean isInline(ABIType<?> type) {
+        return type.typeCode() == TYPE_CODE_TUPLE && !type.dynamic;
+    }
+
+    private static void flattenTypes(TupleType tupleType, String prefix, List<ABIType<?>> leaves, List<String> prefixes) {
+        final ABIType<?>[] elementTypes = tupleType.elementTypes;
+        for (int i = 0; i < elementTypes.length; i++) {
+            final ABIType<?> e = elementTypes[i];
+            final String p = prefix + "tuple index " + i + ": ";
+            if(isInline(e)) {
+                flattenTypes((TupleType) e, p, leaves, prefixes);
+            } else {
+                leaves.add(e);
+                prefixes.add(p);
+            }
+        }
+    }
+
+    private static byte op(ABIType<?> type) {
+        switch (type.typeCode()) {
+        case TYPE_CODE_BOOLEAN: return OP_BOOLEAN;
+        case TYPE_CODE_INT: return OP_INT;
+        case TYPE_CODE_LONG: return OP_LONG;
+        case TYPE_CODE_BIG_INTEGER: return OP_BIG_INTEGER;
+        case TYPE_CODE_BIG_DECIMAL: return OP_BIG_DECIMAL;
+        case TYPE_CODE_ARRAY:
+            final ArrayType<?, ?> arrayType = (ArrayType<?, ?>) type;
+            if(arrayType.length == ArrayType.DYNAMIC_LENGTH && arrayType.elementType.typeCode() == TYPE_CODE_BYTE) {
+                return arrayType.isString() ? OP_STRING : OP_BYTES;
+            }
+            return arrayType.dynamic ? OP_DYNAMIC : OP_STATIC;
+        case TYPE_CODE_TUPLE: return OP_TUPLE; // static tuples were inlined
+        default: return OP_STATIC;
+        }
+    }
+
+    TupleType getTupleType() {
+        return tupleType;
+    }
+
+    ByteBuffer encode(Tuple values) {
+        final Prepared prepared = prepare(values, usesLengths ? new LengthTree() : null);
+        final ByteBuffer dest = ByteBuffer.allocate(prepared.length);
+        write(prepared, dest);
+        return dest;
+    }
+
+    TupleCodec encode(Tuple values, ByteBuffer dest) {
+        write(prepare(values, usesLengths ? new LengthTree() : null), dest);
+        return this;
+    }
+
+    int measureEncodedLength(Tuple values) {
+        return prepare(values, usesLengths ? new LengthTree() : null).length;
+    }
+
+    /* the validated leaves of a value, with everything needed to write them without measuring anything twice */
+    private static final class Prepared {
+
+        final Object[] leaves;
+        final int[] tailLengths;
+        final Object[] tails; // UTF-8 bytes for OP_STRING, Prepared for OP_TUPLE
+        final LengthTree lengths;
+        int length;
+
+        Prepared(Object[] leaves, int dynamicCount, LengthTree lengths) {
+            this.leaves = leaves;
+            this.tailLengths = dynamicCount == 0 ? NO_OFFSETS : new int[dynamicCount];
+            this.tails = dynamicCount == 0 ? NO_TAILS : new Object[dynamicCount];
+            this.lengths = lengths;
+        }
+    }
+
+    private Prepared prepare(Object value, LengthTree lengths) {
+        final Prepared p = new Prepared(leaves(value), dynamicLeaves.length, lengths);
+        final Object[] leaves = p.leaves;
+        int len = tupleType.headLength;
+        int k = 0;
+        try {
+            for (int d = 0; k < leaves.length; k++) {
+                final Object v = leaves[k];
+                final int tailLen;
+                switch (ops[k]) {
+                case OP_BOOLEAN: ((BooleanType) types[k]).validate(v); continue;
+                case OP_INT: ((IntType) types[k]).validate(v); continue;
+                case OP_LONG: ((LongType) types[k]).validate(v); continue;
+                case OP_BIG_INTEGER: ((BigIntegerType) types[k]).validate(v); continue;
+                case OP_BIG_DECIMAL: ((BigDecimalType) types[k]).validate(v); continue;
+                case OP_STATIC: types[k].validate(v); continue;
+                case OP_BYTES:
+                    if(!(v instanceof byte[])) {
+                        types[k].validateClass(v);
+                    }
+                    tailLen = tailLength(((byte[]) v).length);
+                    break;
+                case OP_STRING:
+                    if(!(v instanceof String)) {
+                        types[k].validateClass(v);
+                    }
+                    final byte[] utf8 = Strings.decode((String) v, UTF_8);
+                    p.tails[d] = utf8;
+                    tailLen = tailLength(utf8.length);
+                    break;
+                case OP_TUPLE:
+                    final Prepared child = children[k].prepare(v, lengths);
+                    p.tails[d] = child;
+                    tailLen = child.length;
+                    break;
+                default: tailLen = types[k].validate(v, lengths);
+                }
+                p.tailLengths[d++] = tailLen;
+                len += tailLen;
+            }
+        } catch (NullPointerException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(prefixes[k] + e.getMessage());
+        }
+        p.length = len;
+        return p;
+    }
+
+    private static int tailLength(int byteLen) {
+        return UNIT_LENGTH_BYTES + Integers.roundLengthUp(byteLen, UNIT_LENGTH_BYTES);
+    }
+
+    private Object[] leaves(Object value) {
+        tupleType.validateClass(value);
+        final Object[] elements = ((Tuple) value).elements;
+        checkLength(tupleType, elements);
+        if(!inlined) {
+            return elements;
+        }
+        final Object[] leaves = new Object[ops.length];
+        flattenValues(tupleType, elements, leaves, 0);
+        return leaves;
+    }
+
+    private static int flattenValues(TupleType tupleType, Object[] elements, Object[] leaves, int n) {
+        final ABIType<?>[] elementTypes = tupleType.elementTypes;
+        for (int i = 0; i < elementTypes.length; i++) {
+            final ABIType<?> e = elementTypes[i];
+            if(isInline(e)) {
+                try {
+                    e.validateClass(elements[i]);
+                    final Object[] nested = ((Tuple) elements[i]).elements;
+                    checkLength((TupleType) e, nested);
+                    n = flattenValues((TupleType) e, nested, leaves, n);
+                } catch (NullPointerException | IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("tuple index " + i + ": " + ex.getMessage());
+                }
+            } else {
+                leaves[n++] = elements[i];
+            }
+        }
+        return n;
+    }
+
+    private static void checkLength(TupleType tupleType, Object[] elements) {
+        if(elements.length != tupleType.elementTypes.length) {
+            throw new IllegalArgumentException("tuple length mismatch: actual != expected: " + elements.length + " != " + tupleType.elementTypes.length);
+        }
+    }
+
+    private void write(Prepared p, ByteBuffer dest) {
+        final Object[] leaves = p.leaves;
+        int nextOffset = tupleType.headLength;
+        for (int k = 0, d = 0; k < leaves.length; k++) {
+            final Object v = leaves[k];
+            switch (ops[k]) {
+            case OP_BOOLEAN: dest.put((boolean) v ? BooleanType.BOOLEAN_TRUE : BooleanType.BOOLEAN_FALSE); continue;
+            case OP_INT: Encoding.insertInt((int) v, dest); continue;
+            case OP_LONG: Encoding.insertInt((long) v, dest); continue;
+            case OP_BIG_INTEGER: insertBigInteger((BigInteger) v, dest); continue;
+            case OP_BIG_DECIMAL: Encoding.insertInt(((BigDecimal) v).unscaledValue(), UNIT_LENGTH_BYTES, dest); continue;
+            case OP_STATIC: types[k].encodeHead(v, dest, nextOffset); continue;
+            default: nextOffset = Encoding.insertOffset(nextOffset, dest, p.tailLengths[d++]);
+            }
+        }
+        for (int d = 0; d < dynamicLeaves.length; d++) {
+            final int k = dynamicLeaves[d];
+            switch (ops[k]) {
+            case OP_BYTES: insertBytes((byte[]) leaves[k], dest); continue;
+            case OP_STRING: insertBytes((byte[]) p.tails[d], dest); continue;
+            case OP_TUPLE: children[k].write((Prepared) p.tails[d], dest); continue;
+            default: types[k].encodeTail(leaves[k], dest, p.lengths);
+            }
+        }
+    }
+
+    private static void insertBigInteger(BigInteger val, ByteBuffer dest) {
+        if(val.bitLength() < Long.SIZE) {
+            Encoding.insertInt(val.longValue(), dest); // no intermediate byte array
+        } else {
+            Encoding.insertInt(val, UNIT_LENGTH_BYTES, dest);
+        }
+    }
+
+    private static void insertBytes(byte[] bytes, ByteBuffer dest) {
+        Encoding.insertInt(bytes.length, dest);
+        Encoding.insertBytesPadded(bytes, dest);
+    }
+
+    Tuple decode(byte[] array) {
+        ByteBuffer bb = ByteBuffer.wrap(array);
+        Tuple decoded = decode(bb);
+        final int remaining = bb.remaining();
+        if(remaining == 0) {
+            return decoded;
+        }
+        throw new IllegalArgumentException("unconsumed bytes: " + remaining + " remaining");
+    }
+
+    Tuple decode(ByteBuffer bb) {
+        return decode(bb, ABIType.newUnitBuffer());
+    }
+
+    /* same order and strictness as TupleType.decode(ByteBuffer, byte[]) */
+    private Tuple decode(ByteBuffer bb, byte[] unitBuffer) {
+        final Object[] leaves = new Object[ops.length];
+        final int[] offsets = dynamicLeaves.length == 0 ? NO_OFFSETS : new int[dynamicLeaves.length];
+        for (int k = 0, d = 0; k < leaves.length; k++) {
+            switch (ops[k]) {
+            case OP_BOOLEAN: leaves[k] = ((BooleanType) types[k]).decode(bb, unitBuffer); continue;
+            case OP_INT: leaves[k] = ((IntType) types[k]).decode(bb, unitBuffer); continue;
+            case OP_LONG: leaves[k] = ((LongType) types[k]).decode(bb, unitBuffer); continue;
+            case OP_BIG_INTEGER: leaves[k] = ((BigIntegerType) types[k]).decode(bb, unitBuffer); continue;
+            case OP_BIG_DECIMAL: leaves[k] = ((BigDecimalType) types[k]).decode(bb, unitBuffer); continue;
+            case OP_STATIC: leaves[k] = types[k].decode(bb, unitBuffer); continue;
+            default: offsets[d++] = Encoding.OFFSET_TYPE.decodeInt(bb);
+            }
+        }
+        for (int d = 0; d < offsets.length; d++) {
+            if (offsets[d] > 0) {
+                final int k = dynamicLeaves[d];
+                switch (ops[k]) {
+                case OP_BYTES: leaves[k] = decodeBytes(bb); continue;
+                case OP_STRING: leaves[k] = Strings.encode(decodeBytes(bb), UTF_8); continue;
+                case OP_TUPLE: leaves[k] = children[k].decode(bb, unitBuffer); continue;
+                default: leaves[k] = types[k].decode(bb, unitBuffer);
+                }
+            }
+        }
+        if(!inlined) {
+            return new Tuple(leaves);
+        }
+        final Object[] elements = new Object[tupleType.elementTypes.length];
+        assemble(tupleType, leaves, 0, elements);
+        return new Tuple(elements);
+    }
+
+    private static byte[] decodeBytes(ByteBuffer bb) {
+        final int len = Encoding.OFFSET_TYPE.decodeInt(bb);
+        final int mark = bb.position();
+        final byte[] out = new byte[len];
+        bb.get(out);
+        bb.position(mark + Integers.roundLengthUp(len, UNIT_LENGTH_BYTES));
+        return out;
+    }
+
+    private static int assemble(TupleType tupleType, Object[] leaves, int n, Object[] elements) {
+        final ABIType<?>[] elementTypes = tupleType.elementTypes;
+        for (int i = 0; i < elementTypes.length; i++) {
+            final ABIType<?> e = elementTypes[i];
+            if(isInline(e)) {
+                final Object[] nested = new Object[((TupleType) e).elementTypes.length];
+                n = assemble((TupleType) e, leaves, n, nested);
+                elements[i] = new Tuple(nested);
+            } else {
+                elements[i] = leaves[n++];
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Integers;
+
+import java.lang.reflect.Array;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_ARRAY;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BIG_INTEGER;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BOOLEAN;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_BYTE;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_INT;
+import static com.esaulpaugh.headlong.abi.ABIType.TYPE_CODE_LONG;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * The values of many encodings of one {@link TupleType}, decoded column by column instead of into one {@link Tuple} per
+ * row. Each column is a single array indexed by row:
+ * <ul>
+ *     <li>{@code boolean[]} for {@code bool}</li>
+ *     <li>{@code int[]} and {@code long[]} for the integer types whose values are normally decoded as {@link Integer}
+ *     and {@link Long}</li>
+ *     <li>a packed {@code byte[]} of {@link #packedWidth(int)} bytes per row for unsigned integer types otherwise decoded
+ *     as {@link java.math.BigInteger} (e.g. {@code address}, {@code uint256}), each value as its big-endian magnitude,
+ *     and for {@code bytes1} through {@code bytes32}</li>
+ *     <li>an array of the element type's normal value class for every other type</li>
+ * </ul>
+ * Static values are decoded with no per-row allocation. Column arrays are returned without copying.
+ *
+ * @see TupleType#decodeColumns(byte[][])
+ */
+public final class TupleColumns {
+
+    private static final int BOOLEAN = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int PACKED = 3;
+    private static final int OBJECT = 4;
+
+    private final TupleType tupleType;
+    private final int rows;
+    private final int[] kinds;
+    private final int[] widths;
+    private final Object[] columns;
+
+    private TupleColumns(TupleType tupleType, int rows) {
+        final ABIType<?>[] types = tupleType.elementTypes;
+        this.tupleType = tupleType;
+        this.rows = rows;
+        this.kinds = new int[types.length];
+        this.widths = new int[types.length];
+        this.columns = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            final ABIType<?> type = types[i];
+            switch (type.typeCode()) {
+            case TYPE_CODE_BOOLEAN: kinds[i] = BOOLEAN; columns[i] = new boolean[rows]; continue;
+            case TYPE_CODE_INT: kinds[i] = INT; columns[i] = new int[rows]; continue;
+            case TYPE_CODE_LONG: kinds[i] = LONG; columns[i] = new long[rows]; continue;
+            case TYPE_CODE_BIG_INTEGER:
+                final UnitType<?> unitType = (UnitType<?>) type;
+                if(unitType.unsigned) {
+                    setPacked(i, unitType.bitLength / Byte.SIZE);
+                    continue;
+                }
+                break;
+            case TYPE_CODE_ARRAY:
+                final ArrayType<?, ?> arrayType = (ArrayType<?, ?>) type;
+                if(!arrayType.dynamic && arrayType.elementType.typeCode() == TYPE_CODE_BYTE && arrayType.length <= UNIT_LENGTH_BYTES) {
+                    setPacked(i, arrayType.length);
+                    continue;
+                }
+                break;
+            default:
+            }
+            kinds[i] = OBJECT;
+            columns[i] = Array.newInstance(type.clazz, rows);
+        }
+    }
+
+    private void setPacked(int i, int width) {
+        kinds[i] = PACKED;
+        widths[i] = width;
+        columns[i] = new byte[rows * width];
+    }
+
+    static TupleColumns decode(TupleType tupleType, byte[][] encodings) {
+        final TupleColumns columns = new TupleColumns(tupleType, encodings.length);
+        final byte[] unitBuffer = ABIType.newUnitBuffer();
+        final int[] offsets = new int[tupleType.elementTypes.length];
+        for (int r = 0; r < encodings.length; r++) {
+            final ByteBuffer bb = ByteBuffer.wrap(encodings[r]);
+            columns.decodeRow(r, bb, unitBuffer, offsets);
+            final int remaining = bb.remaining();
+            if(remaining != 0) {
+                throw new IllegalArgumentException("row " + r + ": unconsumed bytes: " + remaining + " remaining");
+            }
+        }
+        return columns;
+    }
+
+    static TupleColumns decode(TupleType tupleType, ByteBuffer[] encodings) {
+        final TupleColumns columns = new TupleColumns(tupleType, encodings.length);
+        final byte[] unitBuffer = ABIType.newUnitBuffer();
+        final int[] offsets = new int[tupleType.elementTypes.length];
+        for (int r = 0; r < encodings.length; r++) {
+            columns.decodeRow(r, encodings[r], unitBuffer, offsets);
+        }
+        return columns;
+    }
+
+    private void decodeRow(int r, ByteBuffer bb, byte[] unitBuffer, int[] offsets) {
+        try {
+            decodeElements(r, bb, unitBuffer, offsets);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("row " + r + ": " + e.getMessage(), e);
+        }
+    }
+
+    /* same element order and strictness as TupleType.decode(ByteBuffer, byte[]) */
+    private void decodeElements(int r, ByteBuffer bb, byte[] unitBuffer, int[] offsets) {
+        final ABIType<?>[] types = tupleType.elementTypes;
+        for (int i = 0; i < types.length; i++) {
+            final ABIType<?> type = types[i];
+            if (!type.dynamic) {
+                decodeStatic(i, r, type, bb, unitBuffer);
+            } else {
+                offsets[i] = Encoding.OFFSET_TYPE.decodeInt(bb);
+            }
+        }
+        if (tupleType.dynamic) {
+            for (int i = 0; i < types.length; i++) {
+                if (types[i].dynamic && offsets[i] > 0) {
+                    ((Object[]) columns[i])[r] = types[i].decode(bb, unitBuffer);
+                }
+            }
+        }
+    }
+
+    private void decodeStatic(int i, int r, ABIType<?> type, ByteBuffer bb, byte[] unitBuffer) {
+        switch (kinds[i]) {
+        case BOOLEAN: ((boolean[]) columns[i])[r] = ((UnitType<?>) type).decodePrimitive(bb) != 0L; return;
+        case INT: ((int[]) columns[i])[r] = (int) ((UnitType<?>) type).decodePrimitive(bb); return;
+        case LONG: ((long[]) columns[i])[r] = ((UnitType<?>) type).decodePrimitive(bb); return;
+        case PACKED: decodePacked(i, r, type, bb, unitBuffer); return;
+        default: ((Object[]) columns[i])[r] = type.decode(bb, unitBuffer);
+        }
+    }
+
+    private void decodePacked(int i, int r, ABIType<?> type, ByteBuffer bb, byte[] unitBuffer) {
+        final int width = widths[i];
+        final byte[] packed = (byte[]) columns[i];
+        if(type.typeCode() == TYPE_CODE_ARRAY) { // bytesN, left-aligned
+            bb.get(packed, r * width, width);
+            bb.position(bb.position() + Integers.roundLengthUp(width, UNIT_LENGTH_BYTES) - width);
+            return;
+        }
+        bb.get(unitBuffer); // unsigned integer, right-aligned
+        final int start = UNIT_LENGTH_BYTES - width;
+        for (int k = 0; k < start; k++) {
+            if(unitBuffer[k] != 0) {
+                final int bitLen = (UNIT_LENGTH_BYTES - k) * Byte.SIZE - (Integer.numberOfLeadingZeros(unitBuffer[k] & 0xFF) - 24);
+                ((UnitType<?>) type).checkBitLen(bitLen);
+            }
+        }
+        System.arraycopy(unitBuffer, start, packed, r * width, width);
+    }
+
+    public TupleType getTupleType() {
+        return tupleType;
+    }
+
+    /**
+     * @return  the number of rows
+     */
+    public int size() {
+        return rows;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the array holding the given column, whatever its kind.
+     *
+     * @param index the column's index in the tuple type
+     * @return  the column array
+     */
+    public Object column(int index) {
+        return columns[index];
+    }
+
+    public boolean[] booleans(int index) {
+        return (boolean[]) checkKind(index, BOOLEAN, "boolean");
+    }
+
+    public int[] ints(int index) {
+        return (int[]) checkKind(index, INT, "int");
+    }
+
+    public long[] longs(int index) {
+        return (long[]) checkKind(index, LONG, "long");
+    }
+
+    /**
+     * Returns a packed column, in which the value of row {@code r} occupies bytes {@code [r * w, (r + 1) * w)} where
+     * {@code w} is {@link #packedWidth(int)}.
+     *
+     * @param index the column's index in the tuple type
+     * @return  the packed column
+     */
+    public byte[] packed(int index) {
+        return (byte[]) checkKind(index, PACKED, "packed");
+    }
+
+    /**
+     * @param index the column's index in the tuple type
+     * @return  the number of bytes per row of the packed column, or zero if the column is not packed
+     */
+    public int packedWidth(int index) {
+        return widths[index];
+    }
+
+    private Object checkKind(int index, int kind, String description) {
+        if(kinds[index] != kind) {
+            throw new IllegalArgumentException("column " + index + " (" + tupleType.elementTypes[index].canonicalType + ") is not a " + description + " column");
+        }
+        return columns[index];
+    }
+}
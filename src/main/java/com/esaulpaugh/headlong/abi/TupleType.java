@@ -18,7 +18,10 @@ package com.esaulpaugh.headlong.abi;
 import com.esaulpaugh.headlong.util.Integers;
 import com.esaulpaugh.headlong.util.Strings;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -37,10 +40,18 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
     public static final TupleType EMPTY = new TupleType(EMPTY_TUPLE_STRING, false, EMPTY_TYPE_ARRAY);
 
     final ABIType<?>[] elementTypes;
+    final int headLength;
+
+    private volatile TupleCodec codec; // compiled on first use
 
     private TupleType(String canonicalType, boolean dynamic, ABIType<?>[] elementTypes) {
         super(canonicalType, Tuple.class, dynamic);
         this.elementTypes = elementTypes;
+        int sum = 0;
+        for (ABIType<?> e : elementTypes) {
+            sum += headLength(e);
+        }
+        this.headLength = sum;
     }
 
     static <E extends ABIType<?>> TupleType wrap(E[] elements) {
@@ -114,18 +125,31 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
 
     @Override
     public int validate(final Object value) {
+        return validate(value, null);
+    }
+
+    @Override
+    int validate(final Object value, final LengthTree lengths) {
         validateClass(value);
 
         final Object[] elements = ((Tuple) value).elements;
 
         if(elements.length == elementTypes.length) {
+            final int slot = dynamic && lengths != null ? lengths.reserve(elementTypes.length) : -1;
             int i = 0;
             try {
                 int len = 0;
                 for (; i < elementTypes.length; i++) {
                     ABIType<?> type = elementTypes[i];
-                    int byteLen = type.validate(elements[i]);
-                    len += !type.dynamic ? byteLen : OFFSET_LENGTH_BYTES + byteLen;
+                    int byteLen = type.validate(elements[i], lengths);
+                    if(!type.dynamic) {
+                        len += byteLen;
+                    } else {
+                        len += OFFSET_LENGTH_BYTES + byteLen;
+                        if(slot >= 0) {
+                            lengths.set(slot + i, byteLen);
+                        }
+                    }
                 }
                 return len;
             } catch (NullPointerException | IllegalArgumentException e) {
@@ -143,7 +167,7 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
             return;
         }
         final ABIType<?>[] types = elementTypes;
-        encodeHeads(types, values, dest, headLengthSum(types, values));
+        encodeHeads(types, values, dest, headLength);
         for (int i = 0; i < types.length; i++) {
             ABIType<?> t = types[i];
             if(t.dynamic) {
@@ -152,19 +176,55 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
         }
     }
 
+    @Override
+    void encodeTail(Object value, ByteBuffer dest, LengthTree lengths) {
+        final Object[] values = ((Tuple) value).elements;
+        if(!dynamic) {
+            encodeHeads(elementTypes, values, dest, -1);
+            return;
+        }
+        final ABIType<?>[] types = elementTypes;
+        int nextOffset = headLength;
+        for (int i = 0; i < types.length; i++) {
+            final ABIType<?> t = types[i];
+            final int len = lengths.next();
+            if(!t.dynamic) {
+                t.encodeHead(values[i], dest, nextOffset);
+            } else {
+                nextOffset = Encoding.insertOffset(nextOffset, dest, len);
+            }
+        }
+        for (int i = 0; i < types.length; i++) {
+            final ABIType<?> t = types[i];
+            if(t.dynamic) {
+                t.encodeTail(values[i], dest, lengths);
+            }
+        }
+    }
+
     private static void encodeHeads(ABIType<?>[] types, Object[] values, ByteBuffer dest, int nextOffset) {
         for (int i = 0; i < types.length; i++) {
             nextOffset = types[i].encodeHead(values[i], dest, nextOffset);
         }
     }
 
-    private static int headLengthSum(ABIType<?>[] types, Object[] elements) {
-        int sum = 0;
-        for (int i = 0; i < types.length; i++) {
-            ABIType<?> type = types[i];
-            sum += !type.dynamic ? type.byteLength(elements[i]) : OFFSET_LENGTH_BYTES;
+    /**
+     * Returns the length of the given type's contribution to the head of an enclosing encoding, which for dynamic types
+     * is the length of an offset. Does not require a value.
+     */
+    static int headLength(ABIType<?> type) {
+        if(type.dynamic) {
+            return OFFSET_LENGTH_BYTES;
+        }
+        switch (type.typeCode()) {
+        case TYPE_CODE_ARRAY:
+            final ArrayType<?, ?> arrayType = (ArrayType<?, ?>) type;
+            return arrayType.elementType.typeCode() == TYPE_CODE_BYTE
+                    ? Integers.roundLengthUp(arrayType.length, UNIT_LENGTH_BYTES)
+                    : arrayType.length * headLength(arrayType.elementType);
+        case TYPE_CODE_TUPLE: return ((TupleType) type).headLength;
+        default: return UNIT_LENGTH_BYTES;
         }
-        return sum;
     }
 
     public Tuple decode(byte[] array) {
@@ -181,13 +241,22 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
         return decode(bb, newUnitBuffer());
     }
 
+    public Tuple decode(ByteBuffer bb, DecoderContext ctx) {
+        return decode(bb, ctx.unitBuffer, ctx);
+    }
+
     @Override
     Tuple decode(ByteBuffer bb, byte[] unitBuffer) {
+        return decode(bb, unitBuffer, null);
+    }
+
+    @Override
+    Tuple decode(ByteBuffer bb, byte[] unitBuffer, DecoderContext ctx) {
         final int len = elementTypes.length;
         final Object[] elements = new Object[len];
         if (!dynamic) {
             for (int i = 0; i < len; i++) {
-                elements[i] = elementTypes[i].decode(bb, unitBuffer);
+                elements[i] = elementTypes[i].decode(bb, unitBuffer, ctx);
             }
         } else {
 //        final int index = bb.position(); // *** save this value here if you want to support lenient mode below
@@ -195,9 +264,9 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
             for (int i = 0; i < len; i++) {
                 ABIType<?> elementType = elementTypes[i];
                 if (!elementType.dynamic) {
-                    elements[i] = elementType.decode(bb, unitBuffer);
+                    elements[i] = elementType.decode(bb, unitBuffer, ctx);
                 } else {
-                    offsets[i] = Encoding.OFFSET_TYPE.decode(bb, unitBuffer);
+                    offsets[i] = Encoding.OFFSET_TYPE.decodeInt(bb);
                 }
             }
             for (int i = 0; i < len; i++) {
@@ -207,13 +276,64 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
 //                    System.err.println(TupleType.class.getName() + " setting " + bb.position() + " to " + (index + offset) + ", offset=" + offset);
 //                    bb.position(index + offset); // lenient
 //                }
-                    elements[i] = elementTypes[i].decode(bb, unitBuffer);
+                    elements[i] = elementTypes[i].decode(bb, unitBuffer, ctx);
                 }
             }
         }
         return new Tuple(elements);
     }
 
+    /**
+     * Decodes many complete encodings of this type into columns rather than into one {@link Tuple} each.
+     *
+     * @param encodings the encodings, one per row
+     * @return  the decoded columns
+     * @throws IllegalArgumentException if any encoding is malformed or has trailing bytes
+     * @see TupleColumns
+     */
+    public TupleColumns decodeColumns(byte[][] encodings) {
+        return TupleColumns.decode(this, encodings);
+    }
+
+    /**
+     * Decodes the encoding at each buffer's current position into columns, advancing each buffer's position past its
+     * encoding.
+     *
+     * @param encodings the buffers, one per row
+     * @return  the decoded columns
+     * @throws IllegalArgumentException if any encoding is malformed
+     * @see TupleColumns
+     */
+    public TupleColumns decodeColumns(ByteBuffer[] encodings) {
+        return TupleColumns.decode(this, encodings);
+    }
+
+    /* compiled on first use and shared thereafter */
+    TupleCodec compile() {
+        TupleCodec c = codec;
+        if(c == null) {
+            codec = c = new TupleCodec(this);
+        }
+        return c;
+    }
+
+    public TupleView decodeLazily(byte[] array) {
+        return decodeLazily(ByteBuffer.wrap(array));
+    }
+
+    /**
+     * Returns a view of the tuple encoded at the buffer's current position which decodes each element only when it is
+     * first accessed. The view shares the buffer's content, which must not be modified while the view is in use. The
+     * buffer's position is not changed.
+     *
+     * @param bb    the buffer containing the encoded tuple
+     * @return  the lazily-decoded view
+     * @see TupleView
+     */
+    public TupleView decodeLazily(ByteBuffer bb) {
+        return new TupleView(this, bb.slice());
+    }
+
     @Override
     public Tuple parseArgument(String s) {
         throw new UnsupportedOperationException();
@@ -231,17 +351,79 @@ public final class TupleType extends ABIType<Tuple> implements Iterable<ABIType<
     }
 
     public ByteBuffer encode(Tuple values) {
-        ByteBuffer dest = ByteBuffer.allocate(validate(values));
-        encodeTail(values, dest);
+        final LengthTree lengths = new LengthTree();
+        ByteBuffer dest = ByteBuffer.allocate(validate(values, lengths));
+        encodeTail(values, dest, lengths);
         return dest;
     }
 
     public TupleType encode(Tuple values, ByteBuffer dest) {
-        validate(values);
-        encodeTail(values, dest);
+        final LengthTree lengths = new LengthTree();
+        validate(values, lengths);
+        encodeTail(values, dest, lengths);
         return this;
     }
 
+    /**
+     * Encodes {@code values} into the context's buffer, which is returned with its position at zero and its limit at the
+     * end of the encoding. The returned buffer belongs to the context and is overwritten by its next use.
+     *
+     * @param values    the values to be encoded
+     * @param ctx       the reusable encoding state
+     * @return  the context's buffer containing the encoding
+     */
+    public ByteBuffer encode(Tuple values, EncoderContext ctx) {
+        final LengthTree lengths = ctx.lengths();
+        final ByteBuffer dest = ctx.buffer(validate(values, lengths));
+        encodeTail(values, dest, lengths);
+        dest.flip();
+        return dest;
+    }
+
+    /**
+     * Writes the encoding of {@code values} to the stream using a buffer of {@link ChunkedEncoder#DEFAULT_CHUNK_SIZE}
+     * bytes.
+     *
+     * @param values    the values to be encoded
+     * @param os        the destination stream
+     * @return  the number of bytes written
+     * @throws IOException  if the stream throws
+     * @see #encode(Tuple, WritableByteChannel, int)
+     */
+    public int encode(Tuple values, OutputStream os) throws IOException {
+        return encode(values, ChunkedEncoder.of(os, ChunkedEncoder.DEFAULT_CHUNK_SIZE));
+    }
+
+    public int encode(Tuple values, OutputStream os, int chunkSize) throws IOException {
+        return encode(values, ChunkedEncoder.of(os, chunkSize));
+    }
+
+    public int encode(Tuple values, WritableByteChannel channel) throws IOException {
+        return encode(values, ChunkedEncoder.of(channel, ChunkedEncoder.DEFAULT_CHUNK_SIZE));
+    }
+
+    /**
+     * Writes the encoding of {@code values} to the channel in chunks of at most {@code chunkSize} bytes without
+     * materializing the whole encoding. Large byte arrays are written to the channel directly.
+     *
+     * @param values    the values to be encoded
+     * @param channel   the destination channel
+     * @param chunkSize the size of the intermediate buffer; at least {@link UnitType#UNIT_LENGTH_BYTES}
+     * @return  the number of bytes written
+     * @throws IOException  if the channel throws
+     */
+    public int encode(Tuple values, WritableByteChannel channel, int chunkSize) throws IOException {
+        return encode(values, ChunkedEncoder.of(channel, chunkSize));
+    }
+
+    private int encode(Tuple values, ChunkedEncoder encoder) throws IOException {
+        final LengthTree lengths = new LengthTree();
+        final int len = validate(values, lengths);
+        encoder.encode(this, values, len, lengths);
+        encoder.flush();
+        return len;
+    }
+
     public int measureEncodedLength(Tuple values) {
         return validate(values);
     }
@@ -0,0 +1,117 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A lazily-decoded {@link Tuple}. Element positions are read from the head of the encoding when the view is created,
+ * but each element is decoded only on the first call to {@link #get(int)} for its index, after which the decoded value
+ * is cached. This makes reading a few fields of a large tuple about as cheap as decoding just those fields. Not
+ * thread-safe.
+ *
+ * @see TupleType#decodeLazily(ByteBuffer)
+ */
+public final class TupleView extends AbstractList<Object> implements RandomAccess {
+
+    private static final Object NOT_DECODED = new Object();
+
+    private final TupleType tupleType;
+    private final ByteBuffer buffer;
+    private final int[] positions;
+    private final Object[] elements;
+    private final byte[] unitBuffer = ABIType.newUnitBuffer();
+
+    TupleView(TupleType tupleType, ByteBuffer buffer) {
+        final ABIType<?>[] types = tupleType.elementTypes;
+        final int len = types.length;
+        this.tupleType = tupleType;
+        this.buffer = buffer;
+        this.positions = new int[len];
+        this.elements = new Object[len];
+        int headPos = 0;
+        for (int i = 0; i < len; i++) {
+            final ABIType<?> type = types[i];
+            if(type.dynamic) {
+                buffer.position(headPos);
+                final int offset = Encoding.OFFSET_TYPE.decodeInt(buffer);
+                if(offset < 0 || offset > buffer.limit()) {
+                    throw new IllegalArgumentException("tuple index " + i + ": illegal offset " + offset);
+                }
+                positions[i] = offset; // offsets are relative to the start of the tuple
+                elements[i] = offset > 0 ? NOT_DECODED : null; // matches TupleType.decode, which skips zero offsets
+            } else {
+                positions[i] = headPos;
+                elements[i] = NOT_DECODED;
+            }
+            headPos += TupleType.headLength(type);
+        }
+        if(headPos > buffer.limit()) {
+            throw new IllegalArgumentException("tuple head exceeds buffer: " + headPos + " > " + buffer.limit());
+        }
+    }
+
+    public TupleType getType() {
+        return tupleType;
+    }
+
+    /**
+     * Returns the element at the given index, decoding it first if necessary.
+     *
+     * @param index the index of the element
+     * @return  the decoded element
+     * @throws IllegalArgumentException if the element's encoding is malformed
+     */
+    @Override
+    public Object get(int index) {
+        Object e = elements[index];
+        if(e == NOT_DECODED) {
+            buffer.position(positions[index]);
+            try {
+                e = tupleType.elementTypes[index].decode(buffer, unitBuffer);
+            } catch (IllegalArgumentException | BufferUnderflowException ex) {
+                throw new IllegalArgumentException("tuple index " + index + ": " + ex.getMessage(), ex);
+            }
+            elements[index] = e;
+        }
+        return e;
+    }
+
+    public boolean isDecoded(int index) {
+        return elements[index] != NOT_DECODED;
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * Decodes any remaining elements and returns them as a {@link Tuple}.
+     *
+     * @return  the fully-decoded tuple
+     */
+    public Tuple toTuple() {
+        final Object[] copy = new Object[elements.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = get(i);
+        }
+        return new Tuple(copy);
+    }
+}
@@ -15,8 +15,9 @@
 */
 package com.esaulpaugh.headlong.abi;
 
-import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.esaulpaugh.headlong.abi.ArrayType.DYNAMIC_LENGTH;
 import static com.esaulpaugh.headlong.abi.BaseTypeInfo.DECIMAL_BIT_LEN;
@@ -24,24 +25,88 @@ import static com.esaulpaugh.headlong.abi.BaseTypeInfo.DECIMAL_SCALE;
 import static com.esaulpaugh.headlong.abi.BaseTypeInfo.FIXED_BIT_LEN;
 import static com.esaulpaugh.headlong.abi.BaseTypeInfo.FIXED_SCALE;
 
-/** Creates the appropriate {@link ABIType} object for a given type string. */
+/**
+ * Creates the appropriate {@link ABIType} object for a given type string. Nameless types are interned in a bounded,
+ * thread-safe cache keyed by type string so that identical type trees are built only once.
+ */
 final class TypeFactory {
 
-    private static final ABIType<BigInteger> CACHED_UINT_TYPE = new BigIntegerType("uint256", 256, true);
+    static final int MAX_CACHE_SIZE = 4096;
+
+    /* values are nameless and shared and therefore must never be passed to setName */
+    private static final ConcurrentHashMap<String, ABIType<?>> CACHE = new ConcurrentHashMap<>(256);
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
 
     private static final ClassLoader CLASS_LOADER = Thread.currentThread().getContextClassLoader();
 
+    private TypeFactory() {}
+
     static ABIType<?> create(String rawType, String name) {
-        return buildType(rawType, null, name == null)
-                .setName(name);
+        final ABIType<?> shared = getShared(rawType);
+        return name == null
+                ? shared
+                : copy(shared).setName(name);
     }
 
     static ABIType<?> createFromBase(TupleType baseType, String typeSuffix, String name) {
-        return buildType(baseType.canonicalType + typeSuffix, baseType, name == null)
+        return buildType(baseType.canonicalType + typeSuffix, baseType)
                 .setName(name);
     }
 
-    private static ABIType<?> buildType(final String rawType, ABIType<?> baseType, final boolean nameless) {
+    /* statistics for tests and benchmarks */
+    static long cacheHits() {
+        return HITS.sum();
+    }
+
+    static long cacheMisses() {
+        return MISSES.sum();
+    }
+
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static ABIType<?> getShared(final String rawType) {
+        ABIType<?> type = CACHE.get(rawType);
+        if(type != null) {
+            HITS.increment();
+            return type;
+        }
+        MISSES.increment();
+        type = buildType(rawType, null);
+        if(CACHE.size() >= MAX_CACHE_SIZE) {
+            CACHE.clear(); // start over rather than let stale entries crowd out the working set
+        }
+        final ABIType<?> canonical = CACHE.putIfAbsent(type.canonicalType, type); // intern by canonical type string
+        if(canonical != null) {
+            type = canonical;
+        }
+        if(!rawType.equals(type.canonicalType)) {
+            CACHE.putIfAbsent(rawType, type);
+        }
+        return type;
+    }
+
+    /* returns a new instance which shares the given (immutable) instance's internals and so may be safely named */
+    @SuppressWarnings("unchecked")
+    private static ABIType<?> copy(ABIType<?> shared) {
+        switch (shared.typeCode()) {
+        case ABIType.TYPE_CODE_ARRAY:
+            final ArrayType<?, ?> a = (ArrayType<?, ?>) shared;
+            return new ArrayType<ABIType<?>, Object>(a.canonicalType, (Class<Object>) a.clazz, a.dynamic, a.elementType, a.length, a.arrayClassName());
+        case ABIType.TYPE_CODE_TUPLE:
+            return TupleType.wrap(((TupleType) shared).elementTypes);
+        default:
+            return resolveBaseType(shared.canonicalType);
+        }
+    }
+
+    private static ABIType<?> buildType(final String rawType, ABIType<?> baseType) {
         try {
             final int lastCharIndex = rawType.length() - 1;
             if (rawType.charAt(lastCharIndex) == ']') { // array
@@ -49,7 +114,10 @@ final class TypeFactory {
                 final int secondToLastCharIndex = lastCharIndex - 1;
                 final int arrayOpenIndex = rawType.lastIndexOf('[', secondToLastCharIndex);
 
-                final ABIType<?> elementType = buildType(rawType.substring(0, arrayOpenIndex), baseType, nameless);
+                final String elementTypeStr = rawType.substring(0, arrayOpenIndex);
+                final ABIType<?> elementType = baseType == null
+                        ? getShared(elementTypeStr)
+                        : buildType(elementTypeStr, baseType); // components may be named; don't share
                 final String type = elementType.canonicalType + rawType.substring(arrayOpenIndex);
                 final int length = arrayOpenIndex == secondToLastCharIndex ? DYNAMIC_LENGTH : parseLen(rawType, arrayOpenIndex + 1, lastCharIndex);
                 final boolean dynamic = length == DYNAMIC_LENGTH || elementType.dynamic;
@@ -58,7 +126,7 @@ final class TypeFactory {
                 final Class<Object> arrayClass = (Class<Object>) Class.forName(arrayClassName, false, CLASS_LOADER);
                 return new ArrayType<ABIType<?>, Object>(type, arrayClass, dynamic, elementType, length, '[' + arrayClassName);
             }
-            if(baseType != null || (baseType = resolveBaseType(rawType, nameless)) != null) {
+            if(baseType != null || (baseType = resolveBaseType(rawType)) != null) {
                 return baseType;
             }
         } catch (ClassNotFoundException e) {
@@ -85,7 +153,7 @@ final class TypeFactory {
         }
     }
 
-    private static ABIType<?> resolveBaseType(String baseTypeStr, boolean nameless) {
+    private static ABIType<?> resolveBaseType(String baseTypeStr) {
         if(baseTypeStr.charAt(0) == '(') {
             return parseTupleType(baseTypeStr);
         }
@@ -159,7 +227,7 @@ final class TypeFactory {
             case "uint240":
             case "uint248": return new BigIntegerType(baseTypeStr, info.bitLen, true);
             case "uint256":
-            case "uint":    return nameless ? CACHED_UINT_TYPE : new BigIntegerType("uint256", 256, true);
+            case "uint":    return new BigIntegerType("uint256", 256, true);
             case "bytes1":
             case "bytes2":
             case "bytes3":
@@ -255,7 +323,7 @@ final class TypeFactory {
                     argEnd = nextTerminator(rawTypeStr, argStart + 1);
                 }
                 if(argEnd >= 0) {
-                    elements.add(buildType(rawTypeStr.substring(argStart, argEnd), null, true));
+                    elements.add(getShared(rawTypeStr.substring(argStart, argEnd)));
                     if(rawTypeStr.charAt(argEnd) == ',') {
                         argStart = argEnd + 1; // jump over terminator
                         continue;
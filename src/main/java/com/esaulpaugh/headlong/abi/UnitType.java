@@ -20,6 +20,7 @@ import com.esaulpaugh.headlong.util.Integers;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /** Superclass for any 256-bit ("unit") Contract ABI type. Usually numbers or boolean. Not for arrays. */
 public abstract class UnitType<V> extends ABIType<V> { // V generally extends Number or is Boolean
@@ -73,6 +74,41 @@ public abstract class UnitType<V> extends ABIType<V> { // V generally extends Nu
         }
     }
 
+    /**
+     * Decodes a 32-byte two's complement integer without allocating a {@link BigInteger}. Validates the value exactly as
+     * {@link #validateBigInt(BigInteger)} would and returns its low-order 64 bits. The unit is read as big-endian
+     * regardless of the buffer's {@link ByteBuffer#order()}.
+     *
+     * @param bb    the buffer containing the encoded unit
+     * @return  the low-order 64 bits of the decoded value
+     */
+    final long decodePrimitive(ByteBuffer bb) {
+        final boolean reverse = bb.order() != ByteOrder.BIG_ENDIAN;
+        final long a = getLong(bb, reverse);
+        final long b = getLong(bb, reverse);
+        final long c = getLong(bb, reverse);
+        final long d = getLong(bb, reverse);
+        final long signExtension = a >> 63; // 0L or -1L
+        checkBitLen(bitLen(a ^ signExtension, b ^ signExtension, c ^ signExtension, d ^ signExtension));
+        if (unsigned && signExtension != 0L) {
+            throw new IllegalArgumentException("signed value given for unsigned type");
+        }
+        return d;
+    }
+
+    private static long getLong(ByteBuffer bb, boolean reverse) {
+        final long word = bb.getLong();
+        return reverse ? Long.reverseBytes(word) : word;
+    }
+
+    /* equivalent to BigInteger.bitLength() given the four 64-bit words of a 256-bit magnitude (or its complement) */
+    private static int bitLen(long a, long b, long c, long d) {
+        return a != 0L ? 256 - Long.numberOfLeadingZeros(a)
+                : b != 0L ? 192 - Long.numberOfLeadingZeros(b)
+                : c != 0L ? 128 - Long.numberOfLeadingZeros(c)
+                : Integers.bitLen(d);
+    }
+
     final void validateBigInt(BigInteger bigIntVal) {
         checkBitLen(bigIntVal.bitLength());
         if (unsigned && bigIntVal.signum() < 0) {
@@ -0,0 +1,493 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_SHORT_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_SHORT_OFFSET;
+import static com.esaulpaugh.headlong.util.Strings.UTF_8;
+
+/** An {@link RLPCodec} which maps an object's fields to the elements of an RLP list. */
+final class ObjectCodec<T> implements RLPCodec<T> {
+
+    /* codecs by field names, stored with each class so that the cache does not keep the class or its loader alive */
+    static final ClassValue<Map<List<String>, RLPCodec<?>>> CACHE = new ClassValue<Map<List<String>, RLPCodec<?>>>() {
+        @Override
+        protected Map<List<String>, RLPCodec<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Class<T> type;
+    private final FieldCodec[] fields;
+    private final MethodHandle constructor; // (Object[])Object
+
+    ObjectCodec(Class<T> type, List<String> names, List<RLPCodec<?>> codecs) {
+        final int n = names.size();
+        final Class<?>[] paramTypes = new Class<?>[n];
+        this.type = type;
+        this.fields = new FieldCodec[n];
+        try {
+            for (int i = 0; i < n; i++) {
+                final Field f = type.getDeclaredField(names.get(i));
+                if (Modifier.isStatic(f.getModifiers())) {
+                    throw new IllegalArgumentException("static field: " + f.getName());
+                }
+                f.setAccessible(true);
+                paramTypes[i] = f.getType();
+                fields[i] = FieldCodec.of(f.getType(), LOOKUP.unreflectGetter(f), codecs.get(i));
+            }
+            final Constructor<T> c = type.getDeclaredConstructor(paramTypes);
+            c.setAccessible(true);
+            this.constructor = LOOKUP.unreflectConstructor(c)
+                    .asSpreader(Object[].class, n)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchFieldException nsfe) {
+            throw new IllegalArgumentException("no field " + nsfe.getMessage() + " in " + type.getName());
+        } catch (NoSuchMethodException nsme) {
+            throw new IllegalArgumentException("no constructor " + type.getSimpleName() + methodType(paramTypes) + " in " + type.getName());
+        } catch (IllegalArgumentException iae) {
+            throw iae;
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("can't access " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String methodType(Class<?>[] paramTypes) {
+        return MethodType.methodType(void.class, paramTypes).toString().replace(")void", ")");
+    }
+
+    /** Reads every field once, keeping the values for {@link #encodeData}, and returns the length of the list's data. */
+    private int measure(T value, Object[] refs, long[] prims) {
+        try {
+            long sum = 0;
+            for (int i = 0; i < fields.length; i++) {
+                sum += fields[i].measure(value, refs, prims, i);
+            }
+            if (sum <= Integer.MAX_VALUE) {
+                return (int) sum;
+            }
+            throw new IllegalArgumentException("integer overflow");
+        } catch (Throwable t) {
+            throw unchecked(t);
+        }
+    }
+
+    int encodeData(Object[] refs, long[] prims, byte[] dest, int destIndex) {
+        for (int i = 0; i < fields.length; i++) {
+            destIndex = fields[i].encode(refs, prims, i, dest, destIndex);
+        }
+        return destIndex;
+    }
+
+    @Override
+    public int encodedLength(T value) {
+        final int dataLen = measure(value, new Object[fields.length], new long[fields.length]);
+        return RLPEncoder.prefixLength(dataLen) + dataLen;
+    }
+
+    @Override
+    public int encode(T value, byte[] dest, int destIndex) {
+        final Object[] refs = new Object[fields.length];
+        final long[] prims = new long[fields.length];
+        final int dataLen = measure(value, refs, prims);
+        return encodeList(refs, prims, dataLen, dest, destIndex);
+    }
+
+    private int encodeList(Object[] refs, long[] prims, int dataLen, byte[] dest, int destIndex) {
+        return encodeData(refs, prims, dest, putPrefix(LIST_SHORT_OFFSET, LIST_LONG_OFFSET, dataLen, dest, destIndex));
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        final Object[] refs = new Object[fields.length];
+        final long[] prims = new long[fields.length];
+        final int dataLen = measure(value, refs, prims);
+        final byte[] dest = new byte[RLPEncoder.prefixLength(dataLen) + dataLen];
+        encodeList(refs, prims, dataLen, dest, 0);
+        return dest;
+    }
+
+    @Override
+    public T decode(RLPItem item) {
+        final RLPList list = item.asRLPList();
+        final Object[] args = new Object[fields.length];
+        final Iterator<RLPItem> iter = list.iterator();
+        int i = 0;
+        while (iter.hasNext()) {
+            RLPItem element = iter.next();
+            if (i < args.length) {
+                args[i] = fields[i].decode(element);
+            }
+            i++;
+        }
+        if (i != args.length) {
+            throw new IllegalArgumentException("expected " + args.length + " elements for " + type.getSimpleName() + ", found " + i);
+        }
+        try {
+            return type.cast(constructor.invokeExact(args));
+        } catch (Throwable t) {
+            throw unchecked(t);
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    static int putPrefix(byte shortOffset, byte longOffset, int dataLen, byte[] dest, int i) {
+        if (dataLen < MIN_LONG_DATA_LEN) {
+            dest[i] = (byte) (shortOffset + dataLen);
+            return i + 1;
+        }
+        dest[i] = (byte) (longOffset + Integers.len(dataLen));
+        return i + 1 + Integers.putLong(dataLen, dest, i + 1);
+    }
+
+    /**
+     * Reads one field of the enclosing object and writes it as one list element, or decodes it from one element. The
+     * value read by {@code measure} is stashed in slot {@code i} of {@code refs} or {@code prims} for {@code encode}.
+     */
+    private abstract static class FieldCodec {
+
+        final MethodHandle getter;
+
+        FieldCodec(MethodHandle getter, Class<?> returnType) {
+            this.getter = getter.asType(MethodType.methodType(returnType, Object.class));
+        }
+
+        abstract int measure(Object obj, Object[] refs, long[] prims, int i) throws Throwable;
+
+        abstract int encode(Object[] refs, long[] prims, int i, byte[] dest, int destIndex);
+
+        abstract Object decode(RLPItem item);
+
+        static FieldCodec of(Class<?> c, MethodHandle getter, RLPCodec<?> codec) {
+            if (codec != null) {
+                return new Nested(getter, codec);
+            }
+            if (c == byte[].class) return new Bytes(getter);
+            if (c == String.class) return new Utf8(getter);
+            if (c == BigInteger.class) return new BigInt(getter);
+            if (c == boolean.class) return new Bool(getter);
+            if (c == byte.class || c == short.class || c == int.class || c == long.class) return new Int(getter, c);
+            if (c == float.class || c == double.class) return new FloatingPoint(getter, c);
+            throw new IllegalArgumentException("unsupported field type: " + c.getName() + "; supply a codec");
+        }
+    }
+
+    private static int stringLength(byte[] data) {
+        final int dataLen = data.length;
+        return dataLen == 1 && data[0] >= 0x00
+                ? 1
+                : RLPEncoder.prefixLength(dataLen) + dataLen;
+    }
+
+    private static int putString(byte[] data, byte[] dest, int i) {
+        final int dataLen = data.length;
+        if (dataLen == 1 && data[0] >= 0x00) {
+            dest[i] = data[0];
+            return i + 1;
+        }
+        i = putPrefix(STRING_SHORT_OFFSET, STRING_LONG_OFFSET, dataLen, dest, i);
+        System.arraycopy(data, 0, dest, i, dataLen);
+        return i + dataLen;
+    }
+
+    private static class Bytes extends FieldCodec {
+
+        Bytes(MethodHandle getter) {
+            this(getter, byte[].class);
+        }
+
+        Bytes(MethodHandle getter, Class<?> returnType) {
+            super(getter, returnType);
+        }
+
+        byte[] read(Object obj) throws Throwable {
+            return (byte[]) getter.invokeExact(obj);
+        }
+
+        @Override
+        final int measure(Object obj, Object[] refs, long[] prims, int i) throws Throwable {
+            final byte[] data = read(obj);
+            refs[i] = data;
+            return stringLength(data);
+        }
+
+        @Override
+        final int encode(Object[] refs, long[] prims, int i, byte[] dest, int destIndex) {
+            return putString((byte[]) refs[i], dest, destIndex);
+        }
+
+        @Override
+        Object decode(RLPItem item) {
+            return item.asRLPString().asBytes();
+        }
+    }
+
+    private static final class Utf8 extends Bytes {
+
+        Utf8(MethodHandle getter) {
+            super(getter, String.class);
+        }
+
+        @Override
+        byte[] read(Object obj) throws Throwable {
+            return Strings.decode((String) getter.invokeExact(obj), UTF_8);
+        }
+
+        @Override
+        Object decode(RLPItem item) {
+            return item.asRLPString().asString(UTF_8);
+        }
+    }
+
+    private static final class BigInt extends FieldCodec {
+
+        BigInt(MethodHandle getter) {
+            super(getter, BigInteger.class);
+        }
+
+        @Override
+        int measure(Object obj, Object[] refs, long[] prims, int i) throws Throwable {
+            final BigInteger val = (BigInteger) getter.invokeExact(obj);
+            if (val.signum() < 0) {
+                throw new IllegalArgumentException("negative integer");
+            }
+            final int len = Integers.len(val);
+            refs[i] = val;
+            prims[i] = len;
+            return len == 1 && val.intValue() < 0x80 ? 1 : RLPEncoder.prefixLength(len) + len;
+        }
+
+        @Override
+        int encode(Object[] refs, long[] prims, int i, byte[] dest, int destIndex) {
+            final BigInteger val = (BigInteger) refs[i];
+            final int len = (int) prims[i];
+            if (len == 1 && val.intValue() < 0x80) {
+                dest[destIndex] = val.byteValue();
+                return destIndex + 1;
+            }
+            destIndex = putPrefix(STRING_SHORT_OFFSET, STRING_LONG_OFFSET, len, dest, destIndex);
+            return destIndex + Integers.putBigInt(val, dest, destIndex);
+        }
+
+        @Override
+        Object decode(RLPItem item) {
+            return item.asRLPString().asBigInt();
+        }
+    }
+
+    private static final class Bool extends FieldCodec {
+
+        Bool(MethodHandle getter) {
+            super(getter, boolean.class);
+        }
+
+        @Override
+        int measure(Object obj, Object[] refs, long[] prims, int i) throws Throwable {
+            prims[i] = (boolean) getter.invokeExact(obj) ? 1L : 0L;
+            return 1;
+        }
+
+        @Override
+        int encode(Object[] refs, long[] prims, int i, byte[] dest, int destIndex) {
+            dest[destIndex] = prims[i] != 0L ? (byte) 0x01 : STRING_SHORT_OFFSET;
+            return destIndex + 1;
+        }
+
+        @Override
+        Object decode(RLPItem item) {
+            return item.asRLPString().asBoolean();
+        }
+    }
+
+    /**
+     * Primitives encoded as a minimal two's complement integer of the field's width, like {@link Integers#toBytes(int)}.
+     */
+    private abstract static class Integral extends FieldCodec {
+
+        final Class<?> width;
+
+        Integral(MethodHandle getter, Class<?> returnType, Class<?> width) {
+            super(getter, returnType);
+            this.width = width;
+        }
+
+        abstract long read(Object obj) throws Throwable;
+
+        private int len(long val) {
+            if (width == long.class) return Integers.len(val);
+            if (width == int.class) return Integers.len((int) val);
+            if (width == short.class) return Integers.len((short) val);
+            return Integers.len((byte) val);
+        }
+
+        private int put(long val, byte[] dest, int i) {
+            if (width == long.class) return Integers.putLong(val, dest, i);
+            if (width == int.class) return Integers.putInt((int) val, dest, i);
+            if (width == short.class) return Integers.putShort((short) val, dest, i);
+            return Integers.putByte((byte) val, dest, i);
+        }
+
+        @Override
+        final int measure(Object obj, Object[] refs, long[] prims, int i) throws Throwable {
+            final long val = read(obj);
+            prims[i] = val;
+            return val > 0 && val < 0x80 ? 1 : 1 + len(val);
+        }
+
+        @Override
+        final int encode(Object[] refs, long[] prims, int i, byte[] dest, int destIndex) {
+            final long val = prims[i];
+            if (val > 0 && val < 0x80) {
+                dest[destIndex] = (byte) val;
+                return destIndex + 1;
+            }
+            final int len = put(val, dest, destIndex + 1);
+            dest[destIndex] = (byte) (STRING_SHORT_OFFSET + len);
+            return destIndex + 1 + len;
+        }
+    }
+
+    private static final class Int extends Integral {
+
+        Int(MethodHandle getter, Class<?> c) {
+            super(getter, long.class, c);
+        }
+
+        @Override
+        long read(Object obj) throws Throwable {
+            return (long) getter.invokeExact(obj);
+        }
+
+        @Override
+        Object decode(RLPItem item) {
+            final RLPString str = item.asRLPString();
+            if (width == long.class) return str.asLong();
+            if (width == int.class) return str.asInt();
+            if (width == short.class) return str.asShort(false);
+            return str.asByte();
+        }
+    }
+
+    /** Encoded as the integral bits of the value, like {@link com.esaulpaugh.headlong.rlp.util.FloatingPoint}. */
+    private static final class FloatingPoint extends Integral {
+
+        FloatingPoint(MethodHandle getter, Class<?> c) {
+            super(getter, double.class, c == float.class ? int.class : long.class);
+        }
+
+        @Override
+        long read(Object obj) throws Throwable {
+            final double val = (double) getter.invokeExact(obj);
+            return width == int.class ? Float.floatToIntBits((float) val) : Double.doubleToLongBits(val);
+        }
+
+        @Override
+        Object decode(RLPItem item) {
+            final RLPString str = item.asRLPString();
+            return width == int.class
+                    ? (Object) Float.intBitsToFloat(str.asInt())
+                    : (Object) Double.longBitsToDouble(str.asLong());
+        }
+    }
+
+    /**
+     * A field encoded by a supplied codec. When that codec is itself an {@link ObjectCodec}, the nested object's field
+     * values and data length read by {@code measure} are kept in {@code refs}/{@code prims} so that {@code encode} writes
+     * them without measuring the nested object again.
+     */
+    private static final class Nested extends FieldCodec {
+
+        private final RLPCodec<Object> codec;
+        private final ObjectCodec<Object> objectCodec;
+
+        @SuppressWarnings("unchecked")
+        Nested(MethodHandle getter, RLPCodec<?> codec) {
+            super(getter, Object.class);
+            this.codec = (RLPCodec<Object>) codec;
+            this.objectCodec = codec instanceof ObjectCodec ? (ObjectCodec<Object>) codec : null;
+        }
+
+        @Override
+        int measure(Object obj, Object[] refs, long[] prims, int i) throws Throwable {
+            final Object val = (Object) getter.invokeExact(obj);
+            if (objectCodec == null) {
+                refs[i] = val;
+                return codec.encodedLength(val);
+            }
+            final int n = objectCodec.fields.length;
+            final Measured m = new Measured(new Object[n], new long[n]);
+            final int dataLen = objectCodec.measure(val, m.refs, m.prims);
+            refs[i] = m;
+            prims[i] = dataLen;
+            return RLPEncoder.prefixLength(dataLen) + dataLen;
+        }
+
+        @Override
+        int encode(Object[] refs, long[] prims, int i, byte[] dest, int destIndex) {
+            if (objectCodec == null) {
+                return codec.encode(refs[i], dest, destIndex);
+            }
+            final Measured m = (Measured) refs[i];
+            return objectCodec.encodeList(m.refs, m.prims, (int) prims[i], dest, destIndex);
+        }
+
+        @Override
+        Object decode(RLPItem item) {
+            return codec.decode(item);
+        }
+    }
+
+    /** The field values of a nested object, read once by {@link Nested#measure}. */
+    private static final class Measured {
+
+        final Object[] refs;
+        final long[] prims;
+
+        Measured(Object[] refs, long[] prims) {
+            this.refs = refs;
+            this.prims = prims;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converts between objects of type {@code T} and their RLP encodings. A codec built by {@link #builder(Class)} or
+ * {@link #of(Class, String...)} encodes an object as an RLP list whose elements are the object's fields in the order
+ * given. Fields may be {@code byte[]}, {@link String} (UTF-8), {@code boolean}, {@code byte}, {@code short},
+ * {@code int}, {@code long}, {@code float}, {@code double} or non-negative {@link java.math.BigInteger}, or any type
+ * for which a codec is supplied. Decoding calls the declared constructor whose parameter types are the field types in
+ * the same order. Fields and the constructor are accessed through method handles resolved once, when the codec is
+ * built.
+ *
+ * @param <T>   the type of object
+ */
+public interface RLPCodec<T> {
+
+    /**
+     * @param value the object
+     * @return  the length in bytes of the object's encoding
+     */
+    int encodedLength(T value);
+
+    /**
+     * Inserts the object's encoding into the destination array at the given index.
+     *
+     * @param value the object
+     * @param dest  the destination array
+     * @param destIndex the index into the destination at which to insert the encoding
+     * @return  the index into {@code dest} marking the end of the encoding
+     */
+    int encode(T value, byte[] dest, int destIndex);
+
+    /**
+     * @param item  the encoding of an object
+     * @return  the decoded object
+     * @throws IllegalArgumentException if the item cannot be decoded as a {@code T}
+     */
+    T decode(RLPItem item);
+
+    default byte[] encode(T value) {
+        byte[] dest = new byte[encodedLength(value)];
+        encode(value, dest, 0);
+        return dest;
+    }
+
+    default T decode(byte[] encoding) {
+        return decode(RLPDecoder.RLP_STRICT.wrap(encoding));
+    }
+
+    /**
+     * Returns a codec for the named fields of {@code type}, in the given order, none of which may require a supplied
+     * codec. Codecs are cached by type and field names.
+     *
+     * @param type  the class of the objects
+     * @param fieldNames    the names of the fields which make up the list
+     * @param <T>   the type of object
+     * @return  the codec
+     * @throws IllegalArgumentException if a field or the constructor can't be found or a field's type is unsupported
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RLPCodec<T> of(Class<T> type, String... fieldNames) {
+        return (RLPCodec<T>) ObjectCodec.CACHE.get(type).computeIfAbsent(Arrays.asList(fieldNames.clone()), k -> {
+            Builder<T> builder = builder(type);
+            for (String name : fieldNames) {
+                builder.field(name);
+            }
+            return builder.build();
+        });
+    }
+
+    static <T> Builder<T> builder(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    final class Builder<T> {
+
+        private final Class<T> type;
+        private final List<String> names = new ArrayList<>();
+        private final List<RLPCodec<?>> codecs = new ArrayList<>();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Appends a field of a built-in type to the list.
+         *
+         * @param name  the name of the field
+         * @return  this builder
+         */
+        public Builder<T> field(String name) {
+            return field(name, null);
+        }
+
+        /**
+         * Appends a field to the list, to be encoded and decoded by the given codec.
+         *
+         * @param name  the name of the field
+         * @param codec the codec for the field's type
+         * @return  this builder
+         */
+        public Builder<T> field(String name, RLPCodec<?> codec) {
+            names.add(name);
+            codecs.add(codec);
+            return this;
+        }
+
+        public RLPCodec<T> build() {
+            return new ObjectCodec<>(type, names, codecs);
+        }
+    }
+}
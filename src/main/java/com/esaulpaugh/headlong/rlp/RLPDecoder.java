@@ -15,13 +15,26 @@
 */
 package com.esaulpaugh.headlong.rlp;
 
+import com.esaulpaugh.headlong.util.Integers;
+
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
 
 /** Decodes RLP-formatted data. */
 public final class RLPDecoder {
@@ -64,6 +77,36 @@ public final class RLPDecoder {
         };
     }
 
+    /**
+     * Returns an iterator over the sequence of RLP items between the buffer's position and its limit. The buffer's
+     * position is not modified and the items are views of the buffer, so its contents must not change while the items
+     * are in use.
+     *
+     * @param buffer    the heap or direct buffer containing the sequence
+     * @return an iterator over the items in the sequence
+     */
+    public Iterator<RLPItem> sequenceIterator(ByteBuffer buffer) {
+        return new Iterator<RLPItem>() {
+
+            private int index = buffer.position();
+
+            @Override
+            public boolean hasNext() {
+                return index < buffer.limit();
+            }
+
+            @Override
+            public RLPItem next() {
+                if (hasNext()) {
+                    RLPItem next = wrap(buffer, index);
+                    this.index = next.endIndex;
+                    return next;
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
     public RLPStream stream(byte[] bytes) {
         return stream(new ByteArrayInputStream(bytes));
     }
@@ -107,6 +150,23 @@ public final class RLPDecoder {
         }
     }
 
+    public RLPString wrapString(ByteBuffer buffer) {
+        return wrapString(buffer, buffer.position());
+    }
+
+    public RLPString wrapString(ByteBuffer buffer, int index) {
+        byte lead = buffer.get(index);
+        DataType type = DataType.type(lead);
+        switch (type) {
+        case SINGLE_BYTE:
+        case STRING_SHORT:
+        case STRING_LONG: return isArrayBacked(buffer)
+                ? new RLPString(lead, type, buffer.array(), index, buffer.limit(), lenient)
+                : new RLPString(lead, type, buffer, index, Integer.MAX_VALUE, lenient);
+        default: throw new IllegalArgumentException("item is not a string");
+        }
+    }
+
     public RLPList wrapList(byte[] encoding) {
         return wrapList(encoding, 0);
     }
@@ -121,6 +181,22 @@ public final class RLPDecoder {
         }
     }
 
+    public RLPList wrapList(ByteBuffer buffer) {
+        return wrapList(buffer, buffer.position());
+    }
+
+    public RLPList wrapList(ByteBuffer buffer, int index) {
+        byte lead = buffer.get(index);
+        DataType type = DataType.type(lead);
+        switch (type) {
+        case LIST_SHORT:
+        case LIST_LONG: return isArrayBacked(buffer)
+                ? new RLPList(lead, type, buffer.array(), index, buffer.limit(), lenient)
+                : new RLPList(lead, type, buffer, index, Integer.MAX_VALUE, lenient);
+        default: throw new IllegalArgumentException("item is not a list");
+        }
+    }
+
     /**
      * Returns an {@link RLPItem} for a length-one encoding (e.g. 0xc0)
      *
@@ -153,6 +229,50 @@ public final class RLPDecoder {
         }
     }
 
+    /**
+     * Wraps the item at the buffer's position without copying. The buffer's position is not modified.
+     *
+     * @param buffer    a heap or direct buffer containing the encoding
+     * @return the item
+     * @throws IllegalArgumentException if the item fails to decode or extends past the buffer's limit
+     */
+    public RLPItem wrap(ByteBuffer buffer) {
+        return wrap(buffer, buffer.position());
+    }
+
+    /**
+     * Wraps the item at the given absolute index of the buffer without copying. The returned item's indices are absolute
+     * indices into the buffer. Items wrapped from a heap buffer are backed by its array.
+     *
+     * @param buffer    a heap or direct buffer containing the encoding
+     * @param index the absolute index of the item
+     * @return the item
+     * @throws IllegalArgumentException if the item fails to decode or extends past the buffer's limit
+     */
+    public RLPItem wrap(ByteBuffer buffer, int index) {
+        return isArrayBacked(buffer)
+                ? wrap(buffer.array(), index, buffer.limit())
+                : wrap(buffer, index, Integer.MAX_VALUE);
+    }
+
+    /** Heap buffers whose indices line up with their arrays can be read through the faster byte[] path. */
+    private static boolean isArrayBacked(ByteBuffer buffer) {
+        return buffer.hasArray() && buffer.arrayOffset() == 0;
+    }
+
+    RLPItem wrap(ByteBuffer buffer, int index, int containerEnd) {
+        byte lead = buffer.get(index);
+        DataType type = DataType.type(lead);
+        switch (type) {
+        case SINGLE_BYTE:
+        case STRING_SHORT:
+        case STRING_LONG: return new RLPString(lead, type, buffer, index, containerEnd, lenient);
+        case LIST_SHORT:
+        case LIST_LONG: return new RLPList(lead, type, buffer, index, containerEnd, lenient);
+        default: throw new Error();
+        }
+    }
+
     /*
      *  Methods for gathering sequential items into a collection
      */
@@ -207,4 +327,146 @@ public final class RLPDecoder {
         }
         return count;
     }
+
+    /*
+     *  Methods for decoding independent top-level items in parallel
+     */
+
+    /**
+     * Finds the index of each top-level item in the range by reading only the items' prefixes. The items themselves are
+     * not validated until they are wrapped.
+     *
+     * @param encodings the array containing the sequence
+     * @param index the index of the first item
+     * @param endIndex  the index at which the sequence ends
+     * @return  the indices of the items, in order
+     * @throws IllegalArgumentException if an item's prefix is invalid or an item extends past {@code endIndex}
+     */
+    public int[] itemIndices(byte[] encodings, int index, int endIndex) {
+        int[] indices = new int[16];
+        int count = 0;
+        while (index < endIndex) {
+            final long end = itemEnd(encodings, index, endIndex, lenient);
+            if(end < 0 || end > endIndex) {
+                wrap(encodings, index, endIndex); // throws with the same message as sequential decoding
+            }
+            if(count == indices.length) {
+                indices = Arrays.copyOf(indices, count << 1);
+            }
+            indices[count++] = index;
+            index = (int) end;
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    public <T> List<T> mapParallel(byte[] encodings, Function<? super RLPItem, ? extends T> mapper) {
+        return mapParallel(encodings, 0, encodings.length, mapper, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies {@code mapper} to each top-level item in the range, spreading the work across the executor, and returns
+     * the results in the order of the items. The item boundaries are found up front by {@link #itemIndices(byte[], int, int)}.
+     *
+     * @param encodings the array containing the sequence
+     * @param index the index of the first item
+     * @param endIndex  the index at which the sequence ends
+     * @param mapper    the function to apply to each item; must be safe to call from multiple threads
+     * @param executor  the executor on which to run the work, e.g. a {@link ForkJoinPool}
+     * @param <T>   the result type
+     * @return  the results, in item order
+     * @throws IllegalArgumentException if an item fails to decode
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> mapParallel(byte[] encodings, int index, int endIndex, Function<? super RLPItem, ? extends T> mapper, Executor executor) {
+        final int[] indices = itemIndices(encodings, index, endIndex);
+        final Object[] results = new Object[indices.length];
+        forEachParallel(encodings, indices, endIndex, (item, i) -> results[i] = mapper.apply(item), executor);
+        return (List<T>) Arrays.asList(results);
+    }
+
+    /**
+     * Passes each top-level item in the range, along with its ordinal in the sequence, to {@code visitor}, spreading the
+     * work across the executor. Each task visits a contiguous run of items in order, but the runs may be visited
+     * concurrently. Returns once every item has been visited.
+     *
+     * @param encodings the array containing the sequence
+     * @param index the index of the first item
+     * @param endIndex  the index at which the sequence ends
+     * @param visitor   receives each item and its ordinal; must be safe to call from multiple threads
+     * @param executor  the executor on which to run the work, e.g. a {@link ForkJoinPool}
+     * @return  the number of items visited
+     * @throws IllegalArgumentException if an item fails to decode
+     */
+    public int forEachParallel(byte[] encodings, int index, int endIndex, ObjIntConsumer<RLPItem> visitor, Executor executor) {
+        return forEachParallel(encodings, itemIndices(encodings, index, endIndex), endIndex, visitor, executor);
+    }
+
+    private int forEachParallel(byte[] encodings, int[] indices, int endIndex, ObjIntConsumer<RLPItem> visitor, Executor executor) {
+        final int n = indices.length;
+        final int parallelism = executor instanceof ForkJoinPool
+                ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        final int numTasks = Math.min(n, parallelism * 4); // a few tasks per thread to even out uneven item sizes
+        final CompletableFuture<?>[] tasks = new CompletableFuture<?>[Math.max(0, numTasks - 1)];
+        for (int t = 1; t < numTasks; t++) {
+            final int from = (int) ((long) n * t / numTasks);
+            final int to = (int) ((long) n * (t + 1) / numTasks);
+            tasks[t - 1] = CompletableFuture.runAsync(() -> visitRange(encodings, indices, from, to, endIndex, visitor), executor);
+        }
+        if (numTasks > 0) {
+            try {
+                visitRange(encodings, indices, 0, n / numTasks, endIndex, visitor); // the first run goes on the calling thread
+            } catch (RuntimeException | Error e) {
+                CompletableFuture.allOf(tasks).exceptionally(t -> null).join();
+                throw e;
+            }
+        }
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException ce) {
+            final Throwable cause = ce.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ce;
+        }
+        return n;
+    }
+
+    private void visitRange(byte[] encodings, int[] indices, int from, int to, int endIndex, ObjIntConsumer<RLPItem> visitor) {
+        for (int i = from; i < to; i++) {
+            visitor.accept(wrap(encodings, indices[i], endIndex), i);
+        }
+    }
+
+    /**
+     * Returns the end index of the item at {@code index} as given by its prefix, or -1 if the prefix extends past
+     * {@code limit}. The end may lie beyond {@code limit}.
+     */
+    static long itemEnd(byte[] buffer, int index, int limit, boolean lenient) {
+        final byte lead = buffer[index];
+        final DataType type = DataType.type(lead);
+        switch (type) {
+        case SINGLE_BYTE: return index + 1;
+        case STRING_SHORT:
+        case LIST_SHORT: return index + 1 + (lead - type.offset);
+        case STRING_LONG:
+        case LIST_LONG: {
+            final int lengthIndex = index + 1;
+            final int dataIndex = lengthIndex + (lead - type.offset);
+            if (dataIndex > limit) {
+                return -1L;
+            }
+            final long dataLength = Integers.getLong(buffer, lengthIndex, dataIndex - lengthIndex, lenient);
+            if(dataLength < MIN_LONG_DATA_LEN) {
+                throw new IllegalArgumentException("long element data length must be " + MIN_LONG_DATA_LEN + " or greater; found: " + dataLength + " for element @ " + index);
+            }
+            return dataIndex + dataLength;
+        }
+        default: throw new Error();
+        }
+    }
 }
@@ -97,23 +97,29 @@ public final class RLPEncoder {
         return dataLen < MIN_LONG_DATA_LEN;
     }
 
-    private static int sumEncodedLen(Iterable<?> rawItems) {
-        long sum = 0;
-        for (Object raw : rawItems) {
-            sum += encodedLen(raw);
-        }
-        return requireNoOverflow(sum);
+    private static int stringEncodedLen(byte[] byteString) {
+        final int dataLen = byteString.length;
+        return Byte.BYTES +
+                (isShort(dataLen)
+                        ? dataLen == Byte.BYTES && byteString[0] >= 0x00 // same as (byteString[0] & 0xFF) < 0x80
+                            ? 0
+                            : dataLen
+                        : Integers.len(dataLen) + dataLen);
     }
 
-    private static int encodedLen(Object raw) {
+    /**
+     * Measures the tree in a single pass, recording the data length of each list in {@code plan} in the order in which
+     * {@link #encodeItem(Object, ByteBuffer, LengthPlan)} will need them.
+     */
+    private static int measure(Object raw, LengthPlan plan) {
         if (raw instanceof byte[]) {
             return stringEncodedLen((byte[]) raw);
         }
         if (raw instanceof Iterable<?>) {
-            return listEncodedLen((Iterable<?>) raw);
+            return measureList((Iterable<?>) raw, plan);
         }
         if(raw instanceof Object[]) {
-            return listEncodedLen(Arrays.asList((Object[]) raw));
+            return measureList(Arrays.asList((Object[]) raw), plan);
         }
         if(raw == null) {
             throw new NullPointerException();
@@ -121,35 +127,35 @@ public final class RLPEncoder {
         throw new IllegalArgumentException("unsupported object type: " + raw.getClass().getName());
     }
 
-    private static int stringEncodedLen(byte[] byteString) {
-        final int dataLen = byteString.length;
-        return Byte.BYTES +
-                (isShort(dataLen)
-                        ? dataLen == Byte.BYTES && byteString[0] >= 0x00 // same as (byteString[0] & 0xFF) < 0x80
-                            ? 0
-                            : dataLen
-                        : Integers.len(dataLen) + dataLen);
+    private static int measureList(Iterable<?> elements, LengthPlan plan) {
+        final int slot = plan.reserve();
+        final int dataLen = measureSequence(elements, plan);
+        plan.set(slot, dataLen);
+        return prefixLength(dataLen) + dataLen;
     }
 
-    private static int listEncodedLen(Iterable<?> items) {
-        final int dataLen = sumEncodedLen(items);
-        return Byte.BYTES + (isShort(dataLen) ? dataLen : Integers.len(dataLen) + dataLen);
+    private static int measureSequence(Iterable<?> rawItems, LengthPlan plan) {
+        long sum = 0;
+        for (Object raw : rawItems) {
+            sum += measure(raw, plan);
+        }
+        return requireNoOverflow(sum);
     }
 
     // visible to Record
     static void encodeItem(Object raw, ByteBuffer bb) {
+        final LengthPlan plan = new LengthPlan();
+        measure(raw, plan);
+        encodeItem(raw, bb, plan);
+    }
+
+    private static void encodeItem(Object raw, ByteBuffer bb, LengthPlan plan) {
         if (raw instanceof byte[]) {
             encodeString((byte[]) raw, bb);
         } else if (raw instanceof Iterable<?>) {
-            Iterable<?> elements = (Iterable<?>) raw;
-            encodeList(sumEncodedLen(elements), elements, bb);
-        } else if(raw instanceof Object[]) {
-            Iterable<?> elements = Arrays.asList((Object[]) raw);
-            encodeList(sumEncodedLen(elements), elements, bb);
-        } else if(raw == null) {
-            throw new NullPointerException();
+            encodeList(plan.next(), (Iterable<?>) raw, bb, plan);
         } else {
-            throw new IllegalArgumentException("unsupported object type: " + raw.getClass().getName());
+            encodeList(plan.next(), Arrays.asList((Object[]) raw), bb, plan); // other types were rejected by measure
         }
     }
 
@@ -175,9 +181,43 @@ public final class RLPEncoder {
         bb.put(first);
     }
 
-    private static void encodeList(int dataLen, Iterable<?> elements, ByteBuffer bb) {
+    private static void encodeList(int dataLen, Iterable<?> elements, ByteBuffer bb, LengthPlan plan) {
         insertListPrefix(dataLen, bb);
-        encodeSequentially(elements, bb);
+        encodeSequence(elements, bb, plan);
+    }
+
+    private static void encodeSequence(Iterable<?> rawItems, ByteBuffer bb, LengthPlan plan) {
+        for (Object raw : rawItems) {
+            encodeItem(raw, bb, plan);
+        }
+    }
+
+    /**
+     * The data lengths of the lists in a tree of raw objects, in pre-order. Filled in by one measuring pass and consumed
+     * in the same order by the encoding pass, so no list is measured more than once regardless of its depth.
+     */
+    private static final class LengthPlan {
+
+        private static final int[] EMPTY = new int[0];
+
+        private int[] lengths = EMPTY; // flat sequences never need an array
+        private int size;
+        private int next;
+
+        int reserve() {
+            if (size == lengths.length) {
+                lengths = Arrays.copyOf(lengths, Math.max(8, size << 1));
+            }
+            return size++;
+        }
+
+        void set(int slot, int dataLen) {
+            lengths[slot] = dataLen;
+        }
+
+        int next() {
+            return lengths[next++];
+        }
     }
 // ---------------------------------------------------------------------------------------------------------------------
     /**
@@ -244,9 +284,10 @@ public final class RLPEncoder {
      * @return the encoded sequence
      */
     public static byte[] encodeSequentially(Iterable<?> objects) {
-        byte[] dest = new byte[sumEncodedLen(objects)];
-        encodeSequentially(objects, dest, 0);
-        return dest;
+        final LengthPlan plan = new LengthPlan();
+        ByteBuffer bb = ByteBuffer.allocate(measureSequence(objects, plan));
+        encodeSequence(objects, bb, plan);
+        return bb.array();
     }
 
     /**
@@ -272,9 +313,9 @@ public final class RLPEncoder {
      * @param dest    the destination for the sequence of RLP encodings
      */
     public static void encodeSequentially(Iterable<?> objects, ByteBuffer dest) {
-        for (Object raw : objects) {
-            encodeItem(raw, dest);
-        }
+        final LengthPlan plan = new LengthPlan();
+        measureSequence(objects, plan);
+        encodeSequence(objects, dest, plan);
     }
 //----------------------------------------------------------------------------------------------------------------------
     /**
@@ -318,9 +359,10 @@ public final class RLPEncoder {
      * @return the encoded RLP list item
      */
     public static byte[] encodeAsList(Iterable<?> elements) {
-        int dataLen = sumEncodedLen(elements);
+        final LengthPlan plan = new LengthPlan();
+        final int dataLen = measureSequence(elements, plan);
         ByteBuffer bb = ByteBuffer.allocate(prefixLength(dataLen) + dataLen);
-        encodeList(dataLen, elements, bb);
+        encodeList(dataLen, elements, bb, plan);
         return bb.array();
     }
 
@@ -347,7 +389,8 @@ public final class RLPEncoder {
      * @param dest     the destination for the encoded RLP list
      */
     public static void encodeAsList(Iterable<?> elements, ByteBuffer dest) {
-        encodeList(sumEncodedLen(elements), elements, dest);
+        final LengthPlan plan = new LengthPlan();
+        encodeList(measureSequence(elements, plan), elements, dest, plan);
     }
 //----------------------------------------------------------------------------------------------------------------------
     /**
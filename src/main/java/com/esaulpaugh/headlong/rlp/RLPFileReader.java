@@ -0,0 +1,180 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a file of concatenated top-level RLP items through read-only memory mappings. Items are views of the mapped
+ * file (see {@link RLPItem}) and are not copied onto the heap. The file is mapped in windows of {@code windowSize}
+ * bytes, so files larger than 2 GiB can be read; a window is remapped at the start of any item which would cross its
+ * end, and enlarged if the item is bigger than the window. Heap use is constant regardless of file size.
+ * <p>
+ * Iterators are not thread-safe, but any number of them may be used concurrently.
+ */
+public final class RLPFileReader implements Iterable<RLPFileReader.Entry>, Closeable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28; // 256 MiB
+
+    private final FileChannel channel;
+    private final RLPDecoder decoder;
+    private final int windowSize;
+    private final long size;
+
+    public RLPFileReader(Path path) throws IOException {
+        this(path, RLPDecoder.RLP_STRICT, DEFAULT_WINDOW_SIZE);
+    }
+
+    public RLPFileReader(Path path, RLPDecoder decoder, int windowSize) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), decoder, windowSize);
+    }
+
+    /**
+     * @param channel       the file, which the reader closes when it is closed
+     * @param decoder       either {@link RLPDecoder#RLP_STRICT} or {@link RLPDecoder#RLP_LENIENT}
+     * @param windowSize    the default number of bytes to map at a time
+     * @throws IOException  if the file's size cannot be read
+     */
+    public RLPFileReader(FileChannel channel, RLPDecoder decoder, int windowSize) throws IOException {
+        if(windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.channel = channel;
+        this.decoder = decoder;
+        this.windowSize = windowSize;
+        this.size = channel.size();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Entry> iterator() {
+        return iterator(0L);
+    }
+
+    /**
+     * Returns an iterator over the items beginning at {@code position}, which must be the start of an item, e.g. a
+     * position previously returned by {@link Entry#getPosition()}.
+     *
+     * @param position  the file position of the first item
+     * @return  the iterator
+     */
+    public Iterator<Entry> iterator(long position) {
+        if(position < 0 || position > size) {
+            throw new IllegalArgumentException("position out of range: " + position);
+        }
+        return new EntryIterator(position);
+    }
+
+    /**
+     * Reads the single item at {@code position}.
+     *
+     * @param position  the file position of the item
+     * @return  the item
+     */
+    public RLPItem read(long position) {
+        return iterator(position).next().getItem();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close(); // existing mappings remain valid until garbage-collected
+    }
+
+    /** An item paired with its position in the file. The item's indices are relative to the mapped window. */
+    public static final class Entry {
+
+        private final long position;
+        private final RLPItem item;
+
+        Entry(long position, RLPItem item) {
+            this.position = position;
+            this.item = item;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public RLPItem getItem() {
+            return item;
+        }
+
+        @Override
+        public String toString() {
+            return position + ": " + item;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry> {
+
+        private long position;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        EntryIterator(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        @Override
+        public Entry next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if(window == null || position >= windowStart + window.limit()) {
+                map(position, windowSize);
+            }
+            while (true) {
+                try {
+                    final RLPItem item = decoder.wrap(window, (int) (position - windowStart), window.limit());
+                    final Entry entry = new Entry(position, item);
+                    position = windowStart + item.endIndex;
+                    return entry;
+                } catch (ShortInputException sie) {
+                    final long windowEnd = windowStart + window.limit();
+                    if(windowEnd >= size || (windowStart == position && window.limit() == Integer.MAX_VALUE)) {
+                        throw sie; // truncated file or oversized item
+                    }
+                    map(position, Math.max(windowSize, (windowEnd - position) << 1));
+                }
+            }
+        }
+
+        private void map(long start, long len) {
+            len = Math.min(Math.min(len, size - start), Integer.MAX_VALUE);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, len);
+            } catch (IOException io) {
+                throw new RuntimeException(io);
+            }
+            windowStart = start;
+        }
+    }
+}
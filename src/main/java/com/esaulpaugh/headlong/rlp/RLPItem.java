@@ -23,6 +23,7 @@ import com.esaulpaugh.headlong.util.Strings;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
@@ -31,7 +32,8 @@ import static com.esaulpaugh.headlong.rlp.DataType.STRING_SHORT;
 /**
  * An immutable view of a portion of a byte array containing RLP-encoded data, starting at {@code index} (inclusive) and
  * ending at {@code endIndex} (exclusive), representing a single item (either a string or list). Useful when decoding or
- * otherwise manipulating RLP items.
+ * otherwise manipulating RLP items. An item may instead be backed by a {@link ByteBuffer}, such as a memory-mapped file
+ * or a direct network buffer, in which case the indices are absolute positions in that buffer.
  *
  * Created by Evo on 1/19/2017.
  */
@@ -39,15 +41,25 @@ public abstract class RLPItem {
 
     public static final RLPItem[] EMPTY_ARRAY = new RLPItem[0];
 
-    protected final byte[] buffer;
+    protected final byte[] buffer; // null if backed by byteBuffer
+    final ByteBuffer byteBuffer; // null if backed by buffer
     protected final int index;
 
     public final transient int dataIndex;
     public final transient int dataLength;
     public final transient int endIndex;
 
-    RLPItem(final byte lead, final DataType type, final byte[] buffer, final int index, int containerEnd, final boolean lenient) {
-        containerEnd = Math.min(buffer.length, containerEnd);
+    RLPItem(byte lead, DataType type, byte[] buffer, int index, int containerEnd, boolean lenient) {
+        this(lead, type, buffer, null, buffer.length, index, containerEnd, lenient);
+    }
+
+    RLPItem(byte lead, DataType type, ByteBuffer byteBuffer, int index, int containerEnd, boolean lenient) {
+        this(lead, type, null, byteBuffer, byteBuffer.limit(), index, containerEnd, lenient);
+    }
+
+    private RLPItem(final byte lead, final DataType type, final byte[] buffer, final ByteBuffer byteBuffer, final int bufferLen,
+                    final int index, int containerEnd, final boolean lenient) {
+        containerEnd = Math.min(bufferLen, containerEnd);
 
         final int _dataIndex;
         final long _dataLength;
@@ -68,9 +80,11 @@ public abstract class RLPItem {
             int lengthIndex = index + 1;
             _dataIndex = lengthIndex + diff; // type dictates that diff guaranteed to be in [1,8]
             if (_dataIndex > containerEnd) {
-                throw exceedsContainer(index, _dataIndex, containerEnd, containerEnd == buffer.length);
+                throw exceedsContainer(index, _dataIndex, containerEnd, containerEnd == bufferLen);
             }
-            _dataLength = Integers.getLong(buffer, lengthIndex, diff, lenient);
+            _dataLength = buffer != null
+                    ? Integers.getLong(buffer, lengthIndex, diff, lenient)
+                    : Integers.getLong(byteBuffer, lengthIndex, diff, lenient);
             if(_dataLength < MIN_LONG_DATA_LEN) {
                 throw new IllegalArgumentException("long element data length must be " + MIN_LONG_DATA_LEN + " or greater; found: " + _dataLength + " for element @ " + index);
             }
@@ -81,13 +95,15 @@ public abstract class RLPItem {
         final long _endIndex = _dataIndex + _dataLength;
 
         if(_endIndex > containerEnd) {
-            throw exceedsContainer(index, _endIndex, containerEnd, containerEnd == buffer.length);
+            throw exceedsContainer(index, _endIndex, containerEnd, containerEnd == bufferLen);
         }
-        if(!lenient && _dataLength == 1 && type == STRING_SHORT && buffer[_dataIndex] >= 0x00) { // same as (buffer[_dataIndex] & 0xFF) < 0x80
+        if(!lenient && _dataLength == 1 && type == STRING_SHORT
+                && (buffer != null ? buffer[_dataIndex] : byteBuffer.get(_dataIndex)) >= 0x00) { // same as (buffer[_dataIndex] & 0xFF) < 0x80
             throw new IllegalArgumentException("invalid rlp for single byte @ " + index);
         }
 
         this.buffer = buffer;
+        this.byteBuffer = byteBuffer;
         this.index = index;
         this.dataIndex = _dataIndex;
         this.dataLength = (int) _dataLength;
@@ -99,8 +115,12 @@ public abstract class RLPItem {
         return shortInput ? new ShortInputException(msg) : new IllegalArgumentException(msg);
     }
 
+    final byte byteAt(int i) {
+        return buffer != null ? buffer[i] : byteBuffer.get(i);
+    }
+
     public final DataType type() {
-        return DataType.type(buffer[index]);
+        return DataType.type(byteAt(index));
     }
 
     public abstract boolean isString();
@@ -138,7 +158,11 @@ public abstract class RLPItem {
     }
 
     public final void exportData(OutputStream os) throws IOException {
-        os.write(buffer, dataIndex, dataLength);
+        if(buffer != null) {
+            os.write(buffer, dataIndex, dataLength);
+        } else {
+            os.write(data());
+        }
     }
 
     /**
@@ -155,7 +179,13 @@ public abstract class RLPItem {
         if(from >= index) {
             if(to <= endIndex) {
                 int len = to - from;
-                System.arraycopy(buffer, from, dest, destIndex, len);
+                if(buffer != null) {
+                    System.arraycopy(buffer, from, dest, destIndex, len);
+                } else {
+                    ByteBuffer src = byteBuffer.duplicate(); // leave the shared buffer's position alone
+                    src.position(from);
+                    src.get(dest, destIndex, len);
+                }
                 return destIndex + len;
             }
             throw new IndexOutOfBoundsException(to + " > " + endIndex);
@@ -178,7 +208,9 @@ public abstract class RLPItem {
      * @return  this item's payload (data) bytes, encoded to your liking
      */
     public String asString(int encoding) {
-        return Strings.encode(buffer, dataIndex, dataLength, encoding);
+        return buffer != null
+                ? Strings.encode(buffer, dataIndex, dataLength, encoding)
+                : Strings.encode(data(), encoding);
     }
 
     /**
@@ -188,7 +220,7 @@ public abstract class RLPItem {
      * @return the {@code boolean}
      */
     public boolean asBoolean() {
-        return dataLength != 0 && buffer[index] != 0x00;
+        return dataLength != 0 && byteAt(index) != 0x00;
     }
 
     /**
@@ -204,31 +236,45 @@ public abstract class RLPItem {
     }
 
     public byte asByte(boolean lenient) {
-        return Integers.getByte(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getByte(buffer, dataIndex, dataLength, lenient)
+                : Integers.getByte(byteBuffer, dataIndex, dataLength, lenient);
     }
 
     public short asShort(boolean lenient) {
-        return Integers.getShort(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getShort(buffer, dataIndex, dataLength, lenient)
+                : Integers.getShort(byteBuffer, dataIndex, dataLength, lenient);
     }
 
     public int asInt(boolean lenient) {
-        return Integers.getInt(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getInt(buffer, dataIndex, dataLength, lenient)
+                : Integers.getInt(byteBuffer, dataIndex, dataLength, lenient);
     }
 
     public long asLong(boolean lenient) {
-        return Integers.getLong(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getLong(buffer, dataIndex, dataLength, lenient)
+                : Integers.getLong(byteBuffer, dataIndex, dataLength, lenient);
     }
 
     public BigInteger asBigInt(boolean lenient) {
-        return Integers.getBigInt(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? Integers.getBigInt(buffer, dataIndex, dataLength, lenient)
+                : Integers.getBigInt(byteBuffer, dataIndex, dataLength, lenient);
     }
 
     public float asFloat(boolean lenient) {
-        return FloatingPoint.getFloat(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? FloatingPoint.getFloat(buffer, dataIndex, dataLength, lenient)
+                : FloatingPoint.getFloat(data(), 0, dataLength, lenient);
     }
 
     public double asDouble(boolean lenient) {
-        return FloatingPoint.getDouble(buffer, dataIndex, dataLength, lenient);
+        return buffer != null
+                ? FloatingPoint.getDouble(buffer, dataIndex, dataLength, lenient)
+                : FloatingPoint.getDouble(data(), 0, dataLength, lenient);
     }
 
     public byte asByte() {
@@ -267,7 +313,7 @@ public abstract class RLPItem {
     public final int hashCode() {
         int result = 1;
         for (int i = index; i < endIndex; i++) {
-            result = 31 * result + buffer[i];
+            result = 31 * result + byteAt(i);
         }
         return result;
     }
@@ -282,7 +328,18 @@ public abstract class RLPItem {
 //                this.buffer, this.index, this.endIndex,
 //                other.buffer, other.index, other.endIndex
 //        );
-        return equals(other.buffer, other.index, other.endIndex);
+        if(this.buffer != null && other.buffer != null) {
+            return equals(other.buffer, other.index, other.endIndex);
+        }
+        final int len = this.endIndex - this.index;
+        if(len != other.endIndex - other.index) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (this.byteAt(this.index + i) != other.byteAt(other.index + i))
+                return false;
+        }
+        return true;
     }
 
     private boolean equals(byte[] b, int bIdx, int bEnd) {
@@ -299,7 +356,9 @@ public abstract class RLPItem {
 
     @Override
     public String toString() {
-        return Notation.forEncoding(buffer, index, endIndex).toString();
+        return buffer != null
+                ? Notation.forEncoding(buffer, index, endIndex).toString()
+                : Notation.forEncoding(encoding()).toString();
     }
 
     /**
@@ -307,6 +366,8 @@ public abstract class RLPItem {
      * @return  this item's bytes, including RLP prefix, encoded to your liking
      */
     public String toString(int encoding) {
-        return Strings.encode(buffer, index, encodingLength(), encoding);
+        return buffer != null
+                ? Strings.encode(buffer, index, encodingLength(), encoding)
+                : Strings.encode(encoding(), encoding);
     }
 }
@@ -17,6 +17,7 @@ package com.esaulpaugh.headlong.rlp;
 
 import com.esaulpaugh.headlong.util.Integers;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -30,6 +31,10 @@ public final class RLPList extends RLPItem implements Iterable<RLPItem> {
         super(lead, type, buffer, index, containerEnd, lenient);
     }
 
+    RLPList(byte lead, DataType type, ByteBuffer buffer, int index, int containerEnd, boolean lenient) {
+        super(lead, type, buffer, index, containerEnd, lenient);
+    }
+
     @Override
     public boolean isString() {
         return false;
@@ -101,12 +106,18 @@ public final class RLPList extends RLPItem implements Iterable<RLPItem> {
     public void elements(RLPDecoder decoder, Collection<RLPItem> collection) {
         int i = dataIndex;
         while (i < this.endIndex) {
-            RLPItem item = decoder.wrap(buffer, i, this.endIndex);
+            RLPItem item = wrapElement(decoder, i);
             collection.add(item);
             i = item.endIndex;
         }
     }
 
+    private RLPItem wrapElement(RLPDecoder decoder, int i) {
+        return buffer != null
+                ? decoder.wrap(buffer, i, this.endIndex)
+                : decoder.wrap(byteBuffer, i, this.endIndex);
+    }
+
     /** @see RLPItem#duplicate(RLPDecoder) */
     @Override
     public RLPList duplicate(RLPDecoder decoder) {
@@ -141,7 +152,7 @@ public final class RLPList extends RLPItem implements Iterable<RLPItem> {
         @Override
         public RLPItem next() {
             if (hasNext()) {
-                RLPItem next = decoder.wrap(RLPList.this.buffer, this.nextElementIndex, RLPList.this.endIndex);
+                RLPItem next = wrapElement(decoder, this.nextElementIndex);
                 this.nextElementIndex = next.endIndex;
                 return next;
             }
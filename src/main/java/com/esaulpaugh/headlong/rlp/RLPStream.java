@@ -21,19 +21,54 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 
-/** An incoming stream of RLP-encoded data. */
+/**
+ * An incoming stream of RLP-encoded data. By default, iteration does not block: {@link Iterator#hasNext()} returns false
+ * whenever no complete item is available yet, and may return true later. See {@link #blocking(InputStream, RLPDecoder, int, int)}
+ * for reading files and other streams to the end.
+ */
 public final class RLPStream implements Iterable<RLPItem>, AutoCloseable {
 
     private final InputStream is;
     private final RLPDecoder decoder;
+    private final boolean blocking;
+    private final int readSize;
+    private final int maxItemSize;
 
     public RLPStream(InputStream is) {
         this(is, RLPDecoder.RLP_STRICT);
     }
 
     public RLPStream(InputStream is, RLPDecoder decoder) {
+        this(is, decoder, false, RLPStreamIterator.DEFAULT_READ_SIZE, Integer.MAX_VALUE);
+    }
+
+    private RLPStream(InputStream is, RLPDecoder decoder, boolean blocking, int readSize, int maxItemSize) {
+        if(readSize <= 0) {
+            throw new IllegalArgumentException("readSize must be positive");
+        }
+        if(maxItemSize <= 0) {
+            throw new IllegalArgumentException("maxItemSize must be positive");
+        }
         this.is = is;
         this.decoder = decoder;
+        this.blocking = blocking;
+        this.readSize = readSize;
+        this.maxItemSize = maxItemSize;
+    }
+
+    /**
+     * Returns a stream whose iterators block on {@link InputStream#read(byte[], int, int)} until an item is complete, and
+     * which therefore works with streams whose {@link InputStream#available()} is always zero. {@link Iterator#hasNext()}
+     * returns false only at the end of the stream, and throws if the stream ends partway through an item.
+     *
+     * @param is            the source
+     * @param decoder       either {@link RLPDecoder#RLP_STRICT} or {@link RLPDecoder#RLP_LENIENT}
+     * @param readSize      the minimum number of bytes to request from the source per read
+     * @param maxItemSize   the size in bytes, including prefix, above which an item is rejected before it is buffered
+     * @return  the stream
+     */
+    public static RLPStream blocking(InputStream is, RLPDecoder decoder, int readSize, int maxItemSize) {
+        return new RLPStream(is, decoder, true, readSize, maxItemSize);
     }
 
     public ArrayList<RLPItem> collect() {
@@ -49,7 +84,7 @@ public final class RLPStream implements Iterable<RLPItem>, AutoCloseable {
 
     @Override
     public Iterator<RLPItem> iterator() {
-        return new RLPStreamIterator(is, decoder);
+        return new RLPStreamIterator(is, decoder, blocking, readSize, maxItemSize);
     }
 
     @Override
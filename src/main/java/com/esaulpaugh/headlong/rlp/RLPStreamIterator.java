@@ -20,8 +20,17 @@ import java.io.InputStream;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+/**
+ * Reads items from an {@link InputStream} into a buffer which is refilled in place until it is full, at which point the
+ * unconsumed bytes are moved to the front of a new buffer sized for the item being read. Items already returned keep
+ * referencing the old buffer, so nothing is overwritten and each byte is copied at most once on its way through.
+ * Non-blocking by default: {@link #hasNext()} reads only what {@link InputStream#available()} reports and returns false
+ * if no complete item is buffered. In blocking mode it reads until an item is complete or the stream ends.
+ */
 class RLPStreamIterator implements Iterator<RLPItem> {
 
+    static final int DEFAULT_READ_SIZE = 8192;
+
     protected final InputStream is;
     protected final RLPDecoder decoder;
     protected byte[] buffer;
@@ -29,15 +38,33 @@ class RLPStreamIterator implements Iterator<RLPItem> {
 
     protected RLPItem next;
 
+    private final boolean blocking;
+    private final int readSize;
+    private final int maxItemSize;
+    private int limit;
+    private boolean shared; // whether any returned item references the buffer
+
     RLPStreamIterator(InputStream is, RLPDecoder decoder) {
-        this(is, decoder, new byte[0], 0); // make sure index == buffer.length
+        this(is, decoder, false, DEFAULT_READ_SIZE, Integer.MAX_VALUE);
+    }
+
+    RLPStreamIterator(InputStream is, RLPDecoder decoder, boolean blocking, int readSize, int maxItemSize) {
+        this(is, decoder, new byte[0], 0, blocking, readSize, maxItemSize); // make sure index == buffer.length
     }
 
     RLPStreamIterator(InputStream is, RLPDecoder decoder, byte[] buffer, int index) {
+        this(is, decoder, buffer, index, false, DEFAULT_READ_SIZE, Integer.MAX_VALUE);
+    }
+
+    private RLPStreamIterator(InputStream is, RLPDecoder decoder, byte[] buffer, int index, boolean blocking, int readSize, int maxItemSize) {
         this.is = is;
         this.decoder = decoder;
         this.buffer = buffer;
         this.index = index;
+        this.limit = buffer.length;
+        this.blocking = blocking;
+        this.readSize = readSize;
+        this.maxItemSize = maxItemSize;
     }
 
     @Override
@@ -46,24 +73,16 @@ class RLPStreamIterator implements Iterator<RLPItem> {
             return true;
         }
         try {
-            final int available = is.available();
-            if (available > 0) {
-                int keptBytes = buffer.length - index;
-                byte[] newBuffer = new byte[keptBytes + available];
-                System.arraycopy(buffer, index, newBuffer, 0, keptBytes);
-                buffer = newBuffer;
-                index = 0;
-                int read = is.read(buffer, keptBytes, available);
-                if (read != available) {
-                    throw new IOException("read failed: " + read + " != " + available);
+            while (true) {
+                final long end = index < limit ? itemEnd() : -1L;
+                if (end >= 0 && end <= limit) {
+                    next = decoder.wrap(buffer, index, limit);
+                    return true;
+                }
+                if (!fill(end < 0 ? 1L : end - limit)) {
+                    return false;
                 }
-            } else if (index >= buffer.length) {
-                return false;
             }
-            next = decoder.wrap(buffer, index);
-            return true;
-        } catch (ShortInputException e) {
-            return false;
         } catch (IOException io) {
             throw new RuntimeException(io);
         }
@@ -75,8 +94,78 @@ class RLPStreamIterator implements Iterator<RLPItem> {
             RLPItem item = next;
             next = null;
             index = item.endIndex;
+            shared = true;
             return item;
         }
         throw new NoSuchElementException();
     }
+
+    /**
+     * Returns the end index of the item at {@code index} as given by its prefix, or -1 if the prefix is not yet fully
+     * buffered. The end may lie beyond {@code limit}.
+     */
+    private long itemEnd() {
+        final long end = RLPDecoder.itemEnd(buffer, index, limit, decoder.lenient);
+        if(end - index > maxItemSize) {
+            throw new IllegalArgumentException("item @ " + index + " exceeds max size: " + (end - index) + " > " + maxItemSize);
+        }
+        return end;
+    }
+
+    /**
+     * Reads more bytes into the buffer.
+     *
+     * @param needed    the number of additional bytes needed to complete the current item, if known, else 1
+     * @return  false if no bytes are available (non-blocking) or the stream has ended (blocking)
+     */
+    private boolean fill(long needed) throws IOException {
+        final int request;
+        if (blocking) {
+            request = Integer.MAX_VALUE;
+        } else {
+            request = is.available();
+            if (request <= 0) {
+                return false;
+            }
+        }
+        ensureFree(needed, blocking ? readSize : request);
+        final int read = is.read(buffer, limit, Math.min(request, buffer.length - limit));
+        if (read < 0) {
+            if (index < limit) {
+                throw new IllegalArgumentException("stream ended within item @ " + index + ": " + (limit - index) + " bytes buffered");
+            }
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    /**
+     * Makes room for the next read. The buffer grows by what the source can deliver, never by the length an item's
+     * prefix claims, so memory is committed only as data actually arrives; capacity at most doubles the bytes already
+     * buffered for the item, keeping large items from being copied once per read.
+     *
+     * @param needed    the number of additional bytes needed to complete the current item, if known, else 1
+     * @param deliverable   the number of bytes the next read may deliver
+     */
+    private void ensureFree(long needed, int deliverable) {
+        final long minFree = Math.min(needed, deliverable);
+        if (buffer.length - limit >= minFree) {
+            return;
+        }
+        final int kept = limit - index;
+        final long required = kept + Math.max(minFree, readSize);
+        final long capacity = Math.min(Math.max(required, Math.min(2L * kept, kept + needed)), Integer.MAX_VALUE - 8);
+        if (required > capacity) {
+            throw new IllegalArgumentException("item @ " + index + " too large to buffer");
+        }
+        final byte[] dest = !shared && required <= buffer.length ? buffer : new byte[(int) capacity];
+        System.arraycopy(buffer, index, dest, 0, kept);
+        if (dest != buffer) {
+            buffer = dest;
+            shared = false;
+        }
+        index = 0;
+        limit = kept;
+    }
 }
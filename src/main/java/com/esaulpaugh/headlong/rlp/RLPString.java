@@ -15,6 +15,8 @@
 */
 package com.esaulpaugh.headlong.rlp;
 
+import java.nio.ByteBuffer;
+
 /** Extends {@link RLPItem}. Created by Evo on 1/19/2017. */
 public final class RLPString extends RLPItem {
 
@@ -22,6 +24,10 @@ public final class RLPString extends RLPItem {
         super(lead, type, buffer, index, containerEnd, lenient);
     }
 
+    RLPString(byte lead, DataType type, ByteBuffer buffer, int index, int containerEnd, boolean lenient) {
+        super(lead, type, buffer, index, containerEnd, lenient);
+    }
+
     @Override
     public boolean isString() {
         return true;
@@ -333,6 +333,58 @@ public final class Integers {
         }
     }
 
+    /**
+     * Like {@link #getByte(byte[], int, int, boolean)} but reads with absolute gets from a {@link ByteBuffer}, which may
+     * be direct. The buffer's position is not changed.
+     */
+    public static byte getByte(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        switch (len) {
+        case 1:
+            byte lead = buffer.get(offset);
+            if(!lenient && lead == 0) {
+                throw leadingZeroException(offset, len);
+            }
+            return lead;
+        case 0: return 0;
+        default: throw outOfRangeException(len);
+        }
+    }
+
+    /** @see #getByte(ByteBuffer, int, int, boolean) */
+    public static short getShort(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        if(len > Short.BYTES) {
+            throw outOfRangeException(len);
+        }
+        return (short) getLong(buffer, offset, len, lenient);
+    }
+
+    /** @see #getByte(ByteBuffer, int, int, boolean) */
+    public static int getInt(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        if(len > Integer.BYTES) {
+            throw outOfRangeException(len);
+        }
+        return (int) getLong(buffer, offset, len, lenient);
+    }
+
+    /** @see #getByte(ByteBuffer, int, int, boolean) */
+    public static long getLong(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        if(len < 0 || len > Long.BYTES) {
+            throw outOfRangeException(len);
+        }
+        long val = 0L;
+        if(len != 0) {
+            byte lead = buffer.get(offset);
+            if (!lenient && lead == 0) {
+                throw leadingZeroException(offset, len);
+            }
+            val = lead & 0xFFL;
+            for (int i = 1; i < len; i++) {
+                val = (val << Byte.SIZE) | (buffer.get(offset + i) & 0xFFL);
+            }
+        }
+        return val;
+    }
+
     private static IllegalArgumentException leadingZeroException(int idx, int len) {
         return new IllegalArgumentException("deserialized integers with leading zeroes are invalid; index: " + idx + ", len: " + len);
     }
@@ -439,6 +491,21 @@ public final class Integers {
         return BigInteger.ZERO;
     }
 
+    /** @see #getByte(ByteBuffer, int, int, boolean) */
+    public static BigInteger getBigInt(ByteBuffer buffer, int offset, int len, boolean lenient) {
+        if(len != 0) {
+            if(!lenient && buffer.get(offset) == 0x00) {
+                throw leadingZeroException(offset, len);
+            }
+            byte[] arr = new byte[Byte.BYTES + len]; // a leading zero byte
+            for (int i = 0; i < len; i++) {
+                arr[Byte.BYTES + i] = buffer.get(offset + i);
+            }
+            return new BigInteger(arr);
+        }
+        return BigInteger.ZERO;
+    }
+
     public static int putBigInt(BigInteger val, byte[] dest, int destIdx) {
         byte[] bytes = val.toByteArray();
         int srcPos = 0;
@@ -30,6 +30,14 @@ public final class Keccak extends MessageDigest {
     private static final int MAX_STATE_SIZE = 1600;
     private static final int MAX_STATE_SIZE_WORDS = MAX_STATE_SIZE / Long.SIZE;
 
+    public static final String PERMUTATION_PROPERTY = "com.joemelsha.crypto.hash.Keccak.permutation";
+
+    /**
+     * Whether {@link #keccak(long[])} uses {@link #keccakUnrolled(long[])} (the default) or {@link #keccakLooped(long[])}.
+     * Set the system property {@value #PERMUTATION_PROPERTY} to {@code looped} to select the latter.
+     */
+    static final boolean UNROLLED = !"looped".equals(System.getProperty(PERMUTATION_PROPERTY));
+
     private final transient int digestSizeBytes;
     private final transient int rateSizeBits;
     private final transient int rateSizeWords;
@@ -311,7 +319,106 @@ public final class Keccak extends MessageDigest {
         this.rateBits = rateBits + inBits;
     }
 
-    private static void keccak(long[] a) {
+    static void keccak(long[] a) {
+        if (UNROLLED) {
+            keccakUnrolled(a);
+        } else {
+            keccakLooped(a);
+        }
+    }
+
+    /**
+     * Same permutation as {@link #keccakLooped(long[])}, with every step of each round written out over 25 local lanes so
+     * that the state is read from and written to the array only once per call instead of several times per round.
+     */
+    static void keccakUnrolled(long[] a) {
+        long a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3], a4 = a[4];
+        long a5 = a[5], a6 = a[6], a7 = a[7], a8 = a[8], a9 = a[9];
+        long a10 = a[10], a11 = a[11], a12 = a[12], a13 = a[13], a14 = a[14];
+        long a15 = a[15], a16 = a[16], a17 = a[17], a18 = a[18], a19 = a[19];
+        long a20 = a[20], a21 = a[21], a22 = a[22], a23 = a[23], a24 = a[24];
+        long c0, c1, c2, c3, c4, d0, d1, d2, d3, d4;
+        long b0, b1, b2, b3, b4;
+        long b5, b6, b7, b8, b9;
+        long b10, b11, b12, b13, b14;
+        long b15, b16, b17, b18, b19;
+        long b20, b21, b22, b23, b24;
+        final long[] rc = RC;
+        for (int i = 0; i < 24; i++) {
+            //theta
+            c0 = a0 ^ a5 ^ a10 ^ a15 ^ a20;
+            c1 = a1 ^ a6 ^ a11 ^ a16 ^ a21;
+            c2 = a2 ^ a7 ^ a12 ^ a17 ^ a22;
+            c3 = a3 ^ a8 ^ a13 ^ a18 ^ a23;
+            c4 = a4 ^ a9 ^ a14 ^ a19 ^ a24;
+            d0 = c4 ^ Long.rotateLeft(c1, 1);
+            d1 = c0 ^ Long.rotateLeft(c2, 1);
+            d2 = c1 ^ Long.rotateLeft(c3, 1);
+            d3 = c2 ^ Long.rotateLeft(c4, 1);
+            d4 = c3 ^ Long.rotateLeft(c0, 1);
+
+            //rho + pi
+            b0 = a0 ^ d0;
+            b1 = Long.rotateLeft(a6 ^ d1, 44);
+            b2 = Long.rotateLeft(a12 ^ d2, 43);
+            b3 = Long.rotateLeft(a18 ^ d3, 21);
+            b4 = Long.rotateLeft(a24 ^ d4, 14);
+            b5 = Long.rotateLeft(a3 ^ d3, 28);
+            b6 = Long.rotateLeft(a9 ^ d4, 20);
+            b7 = Long.rotateLeft(a10 ^ d0, 3);
+            b8 = Long.rotateLeft(a16 ^ d1, 45);
+            b9 = Long.rotateLeft(a22 ^ d2, 61);
+            b10 = Long.rotateLeft(a1 ^ d1, 1);
+            b11 = Long.rotateLeft(a7 ^ d2, 6);
+            b12 = Long.rotateLeft(a13 ^ d3, 25);
+            b13 = Long.rotateLeft(a19 ^ d4, 8);
+            b14 = Long.rotateLeft(a20 ^ d0, 18);
+            b15 = Long.rotateLeft(a4 ^ d4, 27);
+            b16 = Long.rotateLeft(a5 ^ d0, 36);
+            b17 = Long.rotateLeft(a11 ^ d1, 10);
+            b18 = Long.rotateLeft(a17 ^ d2, 15);
+            b19 = Long.rotateLeft(a23 ^ d3, 56);
+            b20 = Long.rotateLeft(a2 ^ d2, 62);
+            b21 = Long.rotateLeft(a8 ^ d3, 55);
+            b22 = Long.rotateLeft(a14 ^ d4, 39);
+            b23 = Long.rotateLeft(a15 ^ d0, 41);
+            b24 = Long.rotateLeft(a21 ^ d1, 2);
+
+            //chi + iota
+            a0 = b0 ^ (~b1 & b2) ^ rc[i];
+            a1 = b1 ^ (~b2 & b3);
+            a2 = b2 ^ (~b3 & b4);
+            a3 = b3 ^ (~b4 & b0);
+            a4 = b4 ^ (~b0 & b1);
+            a5 = b5 ^ (~b6 & b7);
+            a6 = b6 ^ (~b7 & b8);
+            a7 = b7 ^ (~b8 & b9);
+            a8 = b8 ^ (~b9 & b5);
+            a9 = b9 ^ (~b5 & b6);
+            a10 = b10 ^ (~b11 & b12);
+            a11 = b11 ^ (~b12 & b13);
+            a12 = b12 ^ (~b13 & b14);
+            a13 = b13 ^ (~b14 & b10);
+            a14 = b14 ^ (~b10 & b11);
+            a15 = b15 ^ (~b16 & b17);
+            a16 = b16 ^ (~b17 & b18);
+            a17 = b17 ^ (~b18 & b19);
+            a18 = b18 ^ (~b19 & b15);
+            a19 = b19 ^ (~b15 & b16);
+            a20 = b20 ^ (~b21 & b22);
+            a21 = b21 ^ (~b22 & b23);
+            a22 = b22 ^ (~b23 & b24);
+            a23 = b23 ^ (~b24 & b20);
+            a24 = b24 ^ (~b20 & b21);
+        }
+        a[0] = a0; a[1] = a1; a[2] = a2; a[3] = a3; a[4] = a4;
+        a[5] = a5; a[6] = a6; a[7] = a7; a[8] = a8; a[9] = a9;
+        a[10] = a10; a[11] = a11; a[12] = a12; a[13] = a13; a[14] = a14;
+        a[15] = a15; a[16] = a16; a[17] = a17; a[18] = a18; a[19] = a19;
+        a[20] = a20; a[21] = a21; a[22] = a22; a[23] = a23; a[24] = a24;
+    }
+
+    static void keccakLooped(long[] a) {
         int c, i;
         long x, a_10_;
         long x0, x1, x2, x3, x4;
@@ -0,0 +1,260 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.joemelsha.crypto.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Keccak-256 without the {@link java.security.MessageDigest} machinery: each call hashes one complete input into a
+ * caller-provided array, reusing this instance's state, so nothing is allocated per hash. For hashing many small inputs
+ * such as selectors, topics and trie nodes. Instances are not thread-safe; the static methods use one instance per
+ * thread.
+ */
+public final class Keccak256 {
+
+    public static final int DIGEST_LEN = 32;
+
+    private static final int RATE_BYTES = 136; // (1600 - 2 * 256) / 8
+    private static final int RATE_WORDS = RATE_BYTES / Long.BYTES;
+
+    private static final int MIN_GRAIN = 16; // smallest shard worth forking for
+
+    private static final ThreadLocal<Keccak256> LOCAL = ThreadLocal.withInitial(Keccak256::new);
+
+    private final long[] state = new long[25];
+
+    public static byte[] hash(byte[] input) {
+        byte[] digest = new byte[DIGEST_LEN];
+        LOCAL.get().digest(input, 0, input.length, digest, 0, DIGEST_LEN);
+        return digest;
+    }
+
+    public static void hash(byte[] input, int offset, int len, byte[] dest, int destOffset) {
+        LOCAL.get().digest(input, offset, len, dest, destOffset, DIGEST_LEN);
+    }
+
+    public static void hash(byte[] input, int offset, int len, byte[] dest, int destOffset, int digestLen) {
+        LOCAL.get().digest(input, offset, len, dest, destOffset, digestLen);
+    }
+
+    public static void hashAll(byte[][] inputs, byte[] dest, int destOffset) {
+        LOCAL.get().digestAll(inputs, dest, destOffset);
+    }
+
+    public static void hashAll(byte[] data, int[] offsets, byte[] dest, int destOffset) {
+        LOCAL.get().digestAll(data, offsets, dest, destOffset);
+    }
+
+    public static void hashAllParallel(byte[][] inputs, byte[] dest, int destOffset) {
+        hashAllParallel(Arrays.asList(inputs), dest, destOffset, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Hashes each input like {@link #digestAll(byte[][], byte[], int)}, but splits the inputs into contiguous shards
+     * hashed concurrently on {@code pool}, each worker thread using its own instance. Each message is still hashed
+     * sequentially, so this only helps when there are many inputs. Returns once every digest has been written.
+     *
+     * @param inputs    the inputs; should support fast random access
+     * @param dest  the destination for the digests
+     * @param destOffset    the index into {@code dest} of the first digest
+     * @param pool  the pool on which to hash
+     */
+    public static void hashAllParallel(List<byte[]> inputs, byte[] dest, int destOffset, ForkJoinPool pool) {
+        final int n = inputs.size();
+        checkRange(dest.length, destOffset, n * DIGEST_LEN);
+        final int grain = Math.max(MIN_GRAIN, n / (pool.getParallelism() * 8));
+        pool.invoke(new HashTask(inputs, 0, n, grain, dest, destOffset));
+    }
+
+    /**
+     * Writes the first {@code digestLen} bytes of the hash of the input range into {@code dest}.
+     *
+     * @param input the array containing the input
+     * @param offset    the index of the input
+     * @param len   the length of the input
+     * @param dest  the destination for the digest
+     * @param destOffset    the index into {@code dest} at which to write the digest
+     * @param digestLen the number of bytes of the digest to write, at most {@link #DIGEST_LEN}, e.g. 4 for a selector
+     */
+    public void digest(byte[] input, int offset, int len, byte[] dest, int destOffset, int digestLen) {
+        checkRange(input.length, offset, len);
+        checkRange(dest.length, destOffset, digestLen);
+        if (digestLen > DIGEST_LEN) {
+            throw new IllegalArgumentException("digestLen > " + DIGEST_LEN + ": " + digestLen);
+        }
+        final long[] s = state;
+        Arrays.fill(s, 0L);
+        final int end = offset + len;
+        while (end - offset >= RATE_BYTES) {
+            for (int w = 0; w < RATE_WORDS; w++, offset += Long.BYTES) {
+                s[w] ^= getLongLE(input, offset);
+            }
+            Keccak.keccak(s);
+        }
+        int w = 0;
+        for ( ; end - offset >= Long.BYTES; w++, offset += Long.BYTES) {
+            s[w] ^= getLongLE(input, offset);
+        }
+        long last = 0L;
+        int shift = 0;
+        for ( ; offset < end; offset++, shift += Byte.SIZE) {
+            last |= (input[offset] & 0xFFL) << shift;
+        }
+        finish(s, w, last, shift, dest, destOffset, digestLen);
+    }
+
+    /**
+     * Hashes the buffer's remaining bytes, advancing its position to its limit. The buffer's byte order is not modified.
+     *
+     * @param input the input
+     * @param dest  the destination for the digest
+     * @param destOffset    the index into {@code dest} at which to write the digest
+     */
+    public void digest(ByteBuffer input, byte[] dest, int destOffset) {
+        checkRange(dest.length, destOffset, DIGEST_LEN);
+        final long[] s = state;
+        Arrays.fill(s, 0L);
+        final boolean littleEndian = input.order() == ByteOrder.LITTLE_ENDIAN;
+        int offset = input.position();
+        final int end = input.limit();
+        while (end - offset >= RATE_BYTES) {
+            for (int w = 0; w < RATE_WORDS; w++, offset += Long.BYTES) {
+                final long x = input.getLong(offset);
+                s[w] ^= littleEndian ? x : Long.reverseBytes(x);
+            }
+            Keccak.keccak(s);
+        }
+        int w = 0;
+        for ( ; end - offset >= Long.BYTES; w++, offset += Long.BYTES) {
+            final long x = input.getLong(offset);
+            s[w] ^= littleEndian ? x : Long.reverseBytes(x);
+        }
+        long last = 0L;
+        int shift = 0;
+        for ( ; offset < end; offset++, shift += Byte.SIZE) {
+            last |= (input.get(offset) & 0xFFL) << shift;
+        }
+        input.position(end);
+        finish(s, w, last, shift, dest, destOffset, DIGEST_LEN);
+    }
+
+    /**
+     * Hashes each input, writing the digest of input {@code i} to {@code dest} at {@code destOffset + i * DIGEST_LEN}.
+     *
+     * @param inputs    the inputs
+     * @param dest  the destination for the digests
+     * @param destOffset    the index into {@code dest} of the first digest
+     */
+    public void digestAll(byte[][] inputs, byte[] dest, int destOffset) {
+        checkRange(dest.length, destOffset, inputs.length * DIGEST_LEN);
+        for (byte[] input : inputs) {
+            digest(input, 0, input.length, dest, destOffset, DIGEST_LEN);
+            destOffset += DIGEST_LEN;
+        }
+    }
+
+    /**
+     * Hashes each of the inputs laid out back to back in {@code data}, where input {@code i} spans from
+     * {@code offsets[i]} (inclusive) to {@code offsets[i + 1]} (exclusive), writing the digest of input {@code i} to
+     * {@code dest} at {@code destOffset + i * DIGEST_LEN}.
+     *
+     * @param data  the array containing the inputs
+     * @param offsets   the boundaries of the inputs; one more than the number of inputs
+     * @param dest  the destination for the digests
+     * @param destOffset    the index into {@code dest} of the first digest
+     */
+    public void digestAll(byte[] data, int[] offsets, byte[] dest, int destOffset) {
+        final int n = offsets.length - 1;
+        checkRange(dest.length, destOffset, n * DIGEST_LEN);
+        for (int i = 0; i < n; i++) {
+            digest(data, offsets[i], offsets[i + 1] - offsets[i], dest, destOffset, DIGEST_LEN);
+            destOffset += DIGEST_LEN;
+        }
+    }
+
+    /**
+     * Absorbs the final partial word and the padding, then squeezes out the digest.
+     *
+     * @param w the index of the word containing the end of the input
+     * @param last  the input bytes of word {@code w}
+     * @param shift the bit position in word {@code w} following the last input byte
+     */
+    private static void finish(long[] s, int w, long last, int shift, byte[] dest, int destOffset, int digestLen) {
+        s[w] ^= last | (0x01L << shift); // Keccak padding: 1, then zeroes...
+        s[RATE_WORDS - 1] ^= 0x80L << 56; // ...then a final 1 at the end of the rate
+        Keccak.keccak(s);
+        for (int i = 0; i < digestLen; i++) {
+            dest[destOffset + i] = (byte) (s[i >>> 3] >>> ((i & 0b111) << 3));
+        }
+    }
+
+    private static long getLongLE(byte[] b, int i) {
+        return (b[i] & 0xFFL)
+                | (b[i + 1] & 0xFFL) << 8
+                | (b[i + 2] & 0xFFL) << 16
+                | (b[i + 3] & 0xFFL) << 24
+                | (b[i + 4] & 0xFFL) << 32
+                | (b[i + 5] & 0xFFL) << 40
+                | (b[i + 6] & 0xFFL) << 48
+                | (long) b[i + 7] << 56;
+    }
+
+    private static void checkRange(int arrayLen, int offset, int len) {
+        if (offset < 0 || len < 0 || offset > arrayLen - len) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", len: " + len + ", array length: " + arrayLen);
+        }
+    }
+
+    private static final class HashTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<byte[]> inputs;
+        private final int from, to, grain;
+        private final byte[] dest;
+        private final int destOffset;
+
+        HashTask(List<byte[]> inputs, int from, int to, int grain, byte[] dest, int destOffset) {
+            this.inputs = inputs;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.dest = dest;
+            this.destOffset = destOffset;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                final Keccak256 keccak = LOCAL.get();
+                int d = destOffset + from * DIGEST_LEN;
+                for (int i = from; i < to; i++, d += DIGEST_LEN) {
+                    final byte[] input = inputs.get(i);
+                    keccak.digest(input, 0, input.length, dest, d, DIGEST_LEN);
+                }
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new HashTask(inputs, from, mid, grain, dest, destOffset),
+                    new HashTask(inputs, mid, to, grain, dest, destOffset));
+        }
+    }
+}
@@ -22,11 +22,19 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DecodeTest {
 
@@ -57,6 +65,130 @@ public class DecodeTest {
         assertEquals(EXPECTED, decoded);
     }
 
+    @Test
+    public void testParallelDecode() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final TupleType tt = TupleType.parse("((address,uint64,bytes)[],string[][],bool)");
+        final Tuple[] transfers = new Tuple[300 + r.nextInt(300)];
+        for (int i = 0; i < transfers.length; i++) {
+            final byte[] data = new byte[r.nextInt(70)];
+            r.nextBytes(data);
+            transfers[i] = new Tuple(new BigInteger(159, r), BigInteger.valueOf(r.nextLong() & Long.MAX_VALUE), data);
+        }
+        final String[][] strings = new String[40][];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = new String[r.nextInt(3)];
+            Arrays.fill(strings[i], Integer.toString(i));
+        }
+        final Tuple args = new Tuple(transfers, strings, true);
+        final byte[] encoded = tt.encode(args).array();
+
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final ByteBuffer bb = ByteBuffer.wrap(encoded);
+            assertEquals(args, tt.decode(bb, new DecoderContext(false, pool, 2 + r.nextInt(30))));
+            assertFalse(bb.hasRemaining());
+
+            final Tuple views = tt.decode(ByteBuffer.wrap(encoded), new DecoderContext(true, pool, 16));
+            final Tuple last = ((Tuple[]) views.get(0))[transfers.length - 1];
+            assertArrayEquals((byte[]) transfers[transfers.length - 1].get(2), ((BytesView) last.get(2)).toByteArray());
+
+            assertThrown(IllegalArgumentException.class, "parallelThreshold < 2: 1", () -> new DecoderContext(false, pool, 1));
+
+            // parallel decoding rejects non-contiguous element offsets, which sequential decoding ignores
+            final DecoderContext parallel = new DecoderContext(false, pool, 2);
+            final DecoderContext sequential = new DecoderContext();
+            encoded[0x20 * 6 - 1] += 0x20; // offset of the second transfer
+            assertThrown(IllegalArgumentException.class, "illegal offset for element 1: ", () -> tt.decode(ByteBuffer.wrap(encoded), parallel));
+            assertEquals(args, tt.decode(ByteBuffer.wrap(encoded), sequential));
+            assertEquals(args, tt.decode(encoded));
+            encoded[0x20 * 6 - 1] -= 0x20;
+            encoded[0x20 * 5 - 1] += 0x20; // offset of the first transfer
+            assertThrown(IllegalArgumentException.class, "illegal offset for element 0: ", () -> tt.decode(ByteBuffer.wrap(encoded), parallel));
+            assertEquals(args, tt.decode(ByteBuffer.wrap(encoded), sequential));
+            assertEquals(args, tt.decode(encoded));
+            encoded[0x20 * 5 - 1] -= 0x20;
+            assertEquals(args, tt.decode(ByteBuffer.wrap(encoded), parallel));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBytesAsViews() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final TupleType tt = TupleType.parse("(bytes,bytes3,string,uint8,bytes[],string[2][],(bytes,int16[])[])");
+        final byte[] big = new byte[1000 + r.nextInt(1000)];
+        r.nextBytes(big);
+        final Tuple args = new Tuple(
+                big,
+                new byte[] { 1, 2, 3 },
+                "naïve",
+                7,
+                new byte[][] { new byte[0], new byte[33] },
+                new String[][] { new String[] { "a", "" }, new String[] { "bc", "def" } },
+                new Tuple[] { new Tuple(new byte[] { -1 }, new int[] { -2, 3 }) }
+        );
+        final ByteBuffer encoded = tt.encode(args);
+        encoded.flip();
+
+        final Tuple views = tt.decode(encoded, new DecoderContext(true));
+        assertFalse(encoded.hasRemaining());
+
+        final BytesView bytes = (BytesView) views.get(0);
+        assertFalse(bytes.isString());
+        assertEquals(big.length, bytes.length());
+        assertEquals(big[big.length - 1], bytes.get(big.length - 1));
+        assertArrayEquals(big, bytes.toByteArray());
+        final ByteBuffer payload = bytes.asByteBuffer();
+        assertTrue(payload.isReadOnly());
+        assertEquals(0, payload.position());
+        assertEquals(big.length, payload.remaining());
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) ((BytesView) views.get(1)).materialize());
+        final BytesView str = (BytesView) views.get(2);
+        assertTrue(str.isString());
+        assertEquals("naïve", str.asString());
+        assertEquals("naïve", str.toString());
+        assertEquals((Integer) 7, views.get(3));
+
+        final BytesView[] byteArrays = (BytesView[]) views.get(4);
+        assertEquals(0, byteArrays[0].length());
+        assertArrayEquals(new byte[33], byteArrays[1].toByteArray());
+
+        final BytesView[][] strings = (BytesView[][]) views.get(5);
+        assertEquals("def", strings[1][1].asString());
+        assertEquals("", strings[0][1].materialize());
+
+        final Tuple nested = ((Tuple[]) views.get(6))[0];
+        assertArrayEquals(new byte[] { -1 }, ((BytesView) nested.get(0)).toByteArray());
+        assertArrayEquals(new int[] { -2, 3 }, (int[]) nested.get(1));
+
+        assertEquals(args, tt.decode(encoded.array()));
+        assertEquals(new BytesView(ByteBuffer.wrap(big), false), bytes);
+
+        final ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(encoded.array(), 7 * 0x20 + 0x20 + 16));
+        assertThrown(BufferUnderflowException.class, () -> tt.decode(truncated, new DecoderContext(true)));
+        final byte[] full = encoded.array();
+        for (int len = 0; len < full.length; len++) {
+            final byte[] prefix = Arrays.copyOf(full, len);
+            assertEquals(
+                    decodeFailure(tt, prefix, new DecoderContext(false)),
+                    decodeFailure(tt, prefix, new DecoderContext(true)),
+                    "length " + len
+            );
+        }
+    }
+
+    private static Class<?> decodeFailure(TupleType tt, byte[] encoding, DecoderContext ctx) {
+        try {
+            tt.decode(ByteBuffer.wrap(encoding), ctx);
+            return null;
+        } catch (RuntimeException re) {
+            return re.getClass();
+        }
+    }
+
     @Test
     public void testDynamicArrayEmptyTuples() {
         Tuple decoded = new Function("foo()", "(()[])").decodeReturn(
@@ -149,4 +281,74 @@ public class DecodeTest {
 
         assertThrown(IllegalArgumentException.class, "illegal boolean value @ 100", () -> f.decodeCall(array));
     }
+
+    @Test
+    public void testPrimitiveDecodeMatchesBigInteger() {
+        final Random r = TestUtils.seededRandom();
+        final UnitType<?>[] types = new UnitType<?>[] {
+                (UnitType<?>) TypeFactory.create("int8", null), (UnitType<?>) TypeFactory.create("uint8", null),
+                (UnitType<?>) TypeFactory.create("int24", null), (UnitType<?>) TypeFactory.create("uint24", null),
+                (UnitType<?>) TypeFactory.create("int32", null), (UnitType<?>) TypeFactory.create("uint32", null),
+                (UnitType<?>) TypeFactory.create("int56", null), (UnitType<?>) TypeFactory.create("uint56", null),
+                (UnitType<?>) TypeFactory.create("int64", null), (UnitType<?>) TypeFactory.create("bool", null)
+        };
+        final byte[] unit = new byte[UnitType.UNIT_LENGTH_BYTES];
+        for (int i = 0; i < 20_000; i++) {
+            final int words = 1 + r.nextInt(4);
+            final boolean negative = r.nextBoolean();
+            Arrays.fill(unit, negative ? (byte) 0xFF : (byte) 0);
+            final int start = unit.length - words * Long.BYTES + r.nextInt(Long.BYTES);
+            for (int j = start; j < unit.length; j++) {
+                unit[j] = (byte) r.nextInt();
+            }
+            final BigInteger bi = new BigInteger(unit);
+            for (UnitType<?> type : types) {
+                String expected;
+                try {
+                    type.validateBigInt(bi);
+                    expected = String.valueOf(bi.longValue());
+                } catch (IllegalArgumentException iae) {
+                    expected = iae.getMessage();
+                }
+                String actual;
+                try {
+                    actual = String.valueOf(type.decodePrimitive(ByteBuffer.wrap(unit)));
+                } catch (IllegalArgumentException iae) {
+                    actual = iae.getMessage();
+                }
+                assertEquals(expected, actual, type + " " + bi);
+            }
+        }
+    }
+
+    @Test
+    public void testByteOrderIgnored() {
+        final TupleType tt = TupleType.parse("((address,uint64,bytes)[],bool)");
+        final Tuple values = Tuple.of(
+                new Tuple[] {
+                        Tuple.of(BigInteger.valueOf(0xFFFFFFFFL), new BigInteger("18446744073709551615"), new byte[] { 1, 2, 3 }),
+                        Tuple.of(BigInteger.ONE.shiftLeft(159), BigInteger.valueOf(Long.MAX_VALUE), new byte[0])
+                },
+                true
+        );
+        final byte[] encoded = tt.encode(values).array();
+        assertEquals(values, tt.decode(ByteBuffer.wrap(encoded).order(ByteOrder.LITTLE_ENDIAN)));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length).order(ByteOrder.nativeOrder());
+        direct.put(encoded).flip();
+        assertEquals(values, tt.decode(direct));
+
+        final TupleType columnType = TupleType.parse("(int32,int64,bool)");
+        final ByteBuffer row = ByteBuffer.wrap(columnType.encode(Tuple.of(-2, 1L << 40, true)).array()).order(ByteOrder.LITTLE_ENDIAN);
+        final TupleColumns columns = columnType.decodeColumns(new ByteBuffer[] { row });
+        assertEquals(-2, columns.ints(0)[0]);
+        assertEquals(1L << 40, columns.longs(1)[0]);
+        assertTrue(columns.booleans(2)[0]);
+    }
+
+    @Test
+    public void testPrimitiveArrays() {
+        final TupleType tt = TupleType.parse("(int24[],uint32[2],int64,uint8)");
+        final Tuple values = Tuple.of(new int[] { -1, 8_388_607, -8_388_608 }, new long[] { 0L, 4_294_967_295L }, Long.MIN_VALUE, 255);
+        assertEquals(values, tt.decode(tt.encode(values).array()));
+    }
 }
@@ -18,16 +18,21 @@ package com.esaulpaugh.headlong.abi;
 import com.esaulpaugh.headlong.TestUtils;
 import com.esaulpaugh.headlong.abi.util.WrappedKeccak;
 import com.esaulpaugh.headlong.util.Strings;
+import com.joemelsha.crypto.hash.Keccak;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 import static com.esaulpaugh.headlong.TestUtils.assertThrown;
@@ -35,6 +40,8 @@ import static com.esaulpaugh.headlong.abi.TypeFactory.EMPTY_PARAMETER;
 import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EncodeTest {
 
@@ -401,4 +408,172 @@ public class EncodeTest {
                 () -> Function.parse("(int8[])").encodeCall(Tuple.of((Object) new int[] { 120, 256 }))
         );
     }
+
+    @Test
+    public void testChunkedEncode() throws IOException {
+        final Random r = TestUtils.seededRandom();
+        final Keccak k = new Keccak(256);
+        final int[] chunkSizes = new int[] { UNIT_LENGTH_BYTES, UNIT_LENGTH_BYTES + 1, 100, 8192 };
+        for (int i = 0; i < 300; i++) {
+            MonteCarloTestCase mctc = new MonteCarloTestCase(r.nextLong(), 3, 3, 3, 3, r, k);
+            final byte[] expected = mctc.function.encodeCall(mctc.argsTuple).array();
+            final int chunkSize = chunkSizes[i % chunkSizes.length];
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            assertEquals(expected.length, mctc.function.encodeCall(mctc.argsTuple, Channels.newChannel(baos), chunkSize));
+            assertArrayEquals(expected, baos.toByteArray());
+
+            baos = new ByteArrayOutputStream();
+            assertEquals(expected.length, mctc.function.encodeCall(mctc.argsTuple, baos, chunkSize));
+            assertArrayEquals(expected, baos.toByteArray());
+
+            final byte[] expectedParams = Arrays.copyOfRange(expected, Function.SELECTOR_LEN, expected.length);
+            final TupleType params = mctc.function.getParamTypes();
+            baos = new ByteArrayOutputStream();
+            assertEquals(expectedParams.length, params.encode(mctc.argsTuple, baos, chunkSize));
+            assertArrayEquals(expectedParams, baos.toByteArray());
+
+            baos = new ByteArrayOutputStream();
+            assertEquals(expectedParams.length, params.encode(mctc.argsTuple, Channels.newChannel(baos), chunkSize));
+            assertArrayEquals(expectedParams, baos.toByteArray());
+        }
+
+        final Function f = new Function("batch(bytes[],string,int64[],(int8,bool)[300],uint256[],bool[300])");
+        final byte[] big = TestUtils.randomBytes(100_000, r);
+        final long[] longs = new long[1_000];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = r.nextLong();
+        }
+        final Tuple[] pairs = new Tuple[300];
+        Arrays.fill(pairs, Tuple.of(-1, true));
+        final BigInteger[] bigInts = new BigInteger[1_000];
+        for (int i = 0; i < bigInts.length; i++) {
+            bigInts[i] = new BigInteger(256, r);
+        }
+        final boolean[] bools = new boolean[300];
+        for (int i = 0; i < bools.length; i++) {
+            bools[i] = r.nextBoolean();
+        }
+        final Tuple args = Tuple.of(new byte[][] { big, new byte[33], big }, "end", longs, pairs, bigInts, bools);
+        final byte[] expected = f.encodeCall(args).array();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        assertEquals(expected.length, f.encodeCall(args, baos));
+        assertArrayEquals(expected, baos.toByteArray());
+
+        baos = new ByteArrayOutputStream();
+        assertEquals(expected.length, f.encodeCall(args, Channels.newChannel(baos)));
+        assertArrayEquals(expected, baos.toByteArray());
+
+        // arrays of primitives larger than the chunk pass through it rather than being buffered whole
+        final TupleType units = TupleType.parse("(uint256[],int64[])");
+        final Tuple unitArgs = Tuple.of(bigInts, longs);
+        final int[] maxWrite = new int[1];
+        baos = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                maxWrite[0] = Math.max(maxWrite[0], len);
+                super.write(b, off, len);
+            }
+        };
+        assertEquals(units.validate(unitArgs), units.encode(unitArgs, baos, 100));
+        assertArrayEquals(units.encode(unitArgs).array(), baos.toByteArray());
+        assertTrue(maxWrite[0] <= 100);
+    }
+
+    @Test
+    public void testNestedDynamicEncode() {
+        final Function f = new Function("nest((string[],bytes)[][],(string,uint8)[2],bytes[][])");
+        final Tuple inner = Tuple.of(new String[] { "a", "", "abcdefghijklmnopqrstuvwxyz0123456789" }, new byte[] { 1, 2, 3 });
+        final Tuple[][] tuples = new Tuple[][] { new Tuple[] { inner, inner }, new Tuple[0], new Tuple[] { inner } };
+        final Tuple[] pair = new Tuple[] { Tuple.of("x", 7), Tuple.of("", 255) };
+        final byte[][][] bytes = new byte[][][] { new byte[][] { new byte[65], new byte[0] }, new byte[0][] };
+        final Tuple args = Tuple.of(tuples, pair, bytes);
+
+        final ByteBuffer encoded = f.encodeCall(args);
+        assertEquals(Function.SELECTOR_LEN + f.getParamTypes().measureEncodedLength(args), encoded.position());
+        assertEquals(args, f.decodeCall(encoded.array()));
+
+        final ByteBuffer dest = ByteBuffer.allocate(encoded.capacity());
+        f.encodeCall(args, dest);
+        dest.clear();
+        f.encodeCall(args, dest);
+        assertArrayEquals(encoded.array(), dest.array());
+    }
+
+    @Test
+    public void testContexts() {
+        final Random r = TestUtils.seededRandom();
+        final Keccak k = new Keccak(256);
+        final EncoderContext heap = new EncoderContext(0, false);
+        final EncoderContext direct = new EncoderContext(64, true);
+        final DecoderContext decoderContext = new DecoderContext();
+        for (int i = 0; i < 200; i++) {
+            MonteCarloTestCase mctc = new MonteCarloTestCase(r.nextLong(), 3, 3, 3, 3, r, k);
+            final byte[] expected = mctc.function.encodeCall(mctc.argsTuple).array();
+            for (EncoderContext ctx : new EncoderContext[] { heap, direct }) {
+                final ByteBuffer bb = mctc.function.encodeCall(mctc.argsTuple, ctx);
+                assertEquals(0, bb.position());
+                assertEquals(expected.length, bb.limit());
+                final byte[] actual = new byte[bb.remaining()];
+                bb.get(actual);
+                assertArrayEquals(expected, actual);
+                bb.rewind();
+                assertEquals(mctc.argsTuple, mctc.function.decodeCall(bb, decoderContext));
+            }
+        }
+        assertEquals(false, heap.isDirect());
+        assertEquals(true, direct.isDirect());
+
+        final TupleType tt = TupleType.parse("(bytes,uint16)");
+        final Tuple values = Tuple.of(new byte[1000], 9);
+        final ByteBuffer bb = tt.encode(values, heap);
+        assertEquals(tt.measureEncodedLength(values), bb.remaining());
+        assertEquals(values, tt.decode(bb, decoderContext));
+        assertSame(bb, tt.encode(Tuple.of(new byte[0], 1), heap));
+    }
+
+    @Test
+    public void testParallelEncode() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Keccak k = new Keccak(256);
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        final EncoderContext parallel = new EncoderContext(0, false, pool, 2);
+        final DecoderContext decoderContext = new DecoderContext();
+        try {
+            for (int i = 0; i < 200; i++) {
+                MonteCarloTestCase mctc = new MonteCarloTestCase(r.nextLong(), 3, 3, 3, 3, r, k);
+                final byte[] expected = mctc.function.encodeCall(mctc.argsTuple).array();
+                final ByteBuffer bb = mctc.function.encodeCall(mctc.argsTuple, parallel);
+                assertEquals(0, bb.position());
+                assertEquals(expected.length, bb.limit());
+                final byte[] actual = new byte[bb.remaining()];
+                bb.get(actual);
+                assertArrayEquals(expected, actual);
+                bb.rewind();
+                assertEquals(mctc.argsTuple, mctc.function.decodeCall(bb, decoderContext));
+            }
+
+            final TupleType batch = TupleType.parse("(bytes[],(uint8,string[])[],bool)");
+            final byte[][] payloads = new byte[1000][];
+            final Tuple[] entries = new Tuple[500];
+            for (int i = 0; i < payloads.length; i++) {
+                r.nextBytes(payloads[i] = new byte[r.nextInt(100)]);
+            }
+            for (int i = 0; i < entries.length; i++) {
+                final String[] strings = new String[r.nextInt(4)];
+                Arrays.fill(strings, Integer.toHexString(i));
+                entries[i] = Tuple.of(i & 0xFF, strings);
+            }
+            final Tuple batchValues = Tuple.of(payloads, entries, true);
+            final ByteBuffer serial = (ByteBuffer) batch.encode(batchValues).flip();
+            final ByteBuffer concurrent = batch.encode(batchValues, new EncoderContext(0, true, pool, 16));
+            assertEquals(serial, concurrent);
+            assertEquals(batchValues, batch.decode(concurrent, new DecoderContext(false, pool, 16)));
+
+            assertThrown(IllegalArgumentException.class, "parallelThreshold < 2: 0", () -> new EncoderContext(0, false, pool, 0));
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
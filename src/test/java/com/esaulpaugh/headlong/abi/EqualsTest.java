@@ -29,6 +29,7 @@ import java.util.Random;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -68,7 +69,7 @@ public class EqualsTest {
 
             assertTrue(equals);
 
-            assertNotSame(a.getParamTypes().canonicalType, b.getParamTypes().canonicalType);
+            assertEquals(a.getParamTypes().canonicalType, b.getParamTypes().canonicalType);
 
             assertEquals(a, b);
 
@@ -78,7 +79,7 @@ public class EqualsTest {
         System.out.println("n = " + n + ", maxIters = " + maxIters);
 
         assertSame(TupleType.parse("(uint)").elementTypes[0].canonicalType, TupleType.parse("(uint)").elementTypes[0].canonicalType);
-        assertNotSame(Function.parse("(uint)").getParamTypes().canonicalType, Function.parse("(uint)").getParamTypes().canonicalType);
+        assertSame(Function.parse("(uint)").getParamTypes(), Function.parse("(uint)").getParamTypes());
 
         assertEquals(
                 Function.parse("(bool)", new WrappedKeccak(256)),
@@ -86,6 +87,26 @@ public class EqualsTest {
         );
     }
 
+    @Test
+    public void testTypeCache() {
+        final long hits = TypeFactory.cacheHits();
+        final TupleType a = TupleType.parse("(uint,(address,int)[])");
+        final TupleType b = TupleType.parse("(uint256,(address,int256)[])");
+        assertSame(a, b);
+        assertSame(a.get(1), TupleType.parse("((address,int256)[],bool)").get(0));
+        assertSame(TupleType.parse("(uint8[])").get(0), TypeFactory.create("uint8[]", null));
+        assertTrue(TypeFactory.cacheHits() > hits);
+        assertTrue(TypeFactory.cacheSize() <= TypeFactory.MAX_CACHE_SIZE);
+
+        final ABIType<?> named = TypeFactory.create("uint8[]", "eight");
+        final ABIType<?> shared = TypeFactory.create("uint8[]", null);
+        assertNotSame(named, shared);
+        assertEquals(named, shared);
+        assertEquals("eight", named.getName());
+        assertNull(shared.getName());
+        assertSame(((ArrayType<?, ?>) named).getElementType(), ((ArrayType<?, ?>) shared).getElementType());
+    }
+
     private static boolean recursiveEquals(TupleType tt, Object o) {
         if (tt == o) return true;
         if (o == null || tt.getClass() != o.getClass()) return false;
@@ -15,11 +15,17 @@
 */
 package com.esaulpaugh.headlong.abi;
 
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.util.Strings;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class EventTest {
 
@@ -38,4 +44,47 @@ public class EventTest {
         assertEquals(TupleType.parse("((),ufixed256x10)"), event.getIndexedParams());
         assertEquals(TupleType.parse("(int256,uint256,bool[])"), event.getNonIndexedParams());
     }
+
+    @Test
+    public void testDecodeLog() throws Throwable {
+        final Event transfer = new Event("Transfer", "(address,address,uint256)", new boolean[] { true, true, false });
+        assertEquals("ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef", Strings.encode(transfer.getSignatureHash()));
+
+        final BigInteger from = new BigInteger("ff00ee01dd02cc03cafebabe9906880777086609", 16);
+        final BigInteger to = BigInteger.valueOf(0xdeadbeefL);
+        final BigInteger amount = BigInteger.valueOf(1_000_000L);
+        final byte[][] topics = new byte[][] {
+                transfer.getSignatureHash(),
+                TupleType.parse("(address)").encode(Tuple.of(from)).array(),
+                TupleType.parse("(address)").encode(Tuple.of(to)).array()
+        };
+        final byte[] data = transfer.getNonIndexedParams().encode(Tuple.of(amount)).array();
+        assertEquals(Tuple.of(from, to, amount), transfer.decodeLog(topics, data));
+
+        TestUtils.assertThrown(IllegalArgumentException.class, "expected 2 indexed topics, found 1", () -> transfer.decodeLog(Arrays.copyOf(topics, 2), data));
+        TestUtils.assertThrown(IllegalArgumentException.class, "unexpected topic0", () -> transfer.decodeLog(Arrays.copyOfRange(topics, 1, 3), data));
+
+        final Event anon = new Event("Anon", "(string,bytes4,uint8)", new boolean[] { true, true, false }, true);
+        final byte[] stringHash = new byte[32];
+        Arrays.fill(stringHash, (byte) 7);
+        final byte[][] anonTopics = new byte[][] {
+                stringHash,
+                Strings.decode("cafebabe00000000000000000000000000000000000000000000000000000000")
+        };
+        final Tuple decoded = anon.decodeLog(anonTopics, TupleType.parse("(uint8)").encode(Tuple.of(9)).array());
+        assertArrayEquals(stringHash, (byte[]) decoded.get(0));
+        assertArrayEquals(Strings.decode("cafebabe"), (byte[]) decoded.get(1));
+        assertEquals(9, decoded.get(2));
+
+        final EventRegistry registry = new EventRegistry(Arrays.asList(transfer, anon, new Event("Approval", "(address,address,uint256)", new boolean[] { true, true, false })));
+        assertEquals(2, registry.size());
+        assertEquals(transfer, registry.get(topics[0]));
+        assertNull(registry.get(stringHash));
+
+        final EventRegistry.DecodedLog[] logs = registry.decodeLogs(new byte[][][] { topics, anonTopics }, new byte[][] { data, new byte[32] });
+        assertEquals(transfer, logs[0].getEvent());
+        assertEquals(Tuple.of(from, to, amount), logs[0].getParams());
+        assertNull(logs[1]);
+        TestUtils.assertThrown(IllegalArgumentException.class, "unrecognized topic0", () -> registry.decodeLog(anonTopics, data));
+    }
 }
@@ -0,0 +1,82 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FunctionRegistryTest {
+
+    private static final String CONTRACT_JSON = "[\n" +
+            "  { \"type\": \"function\", \"name\": \"transfer\", \"inputs\": [ { \"name\": \"to\", \"type\": \"address\" }, { \"name\": \"amount\", \"type\": \"uint256\" } ] },\n" +
+            "  { \"type\": \"function\", \"name\": \"transfer\", \"inputs\": [ { \"name\": \"to\", \"type\": \"address\" }, { \"name\": \"data\", \"type\": \"bytes\" } ] },\n" +
+            "  { \"type\": \"function\", \"name\": \"approve\", \"inputs\": [ { \"name\": \"spender\", \"type\": \"address\" }, { \"name\": \"amount\", \"type\": \"uint256\" } ] },\n" +
+            "  { \"type\": \"event\", \"name\": \"Transfer\", \"inputs\": [ { \"name\": \"from\", \"type\": \"address\", \"indexed\": true } ] },\n" +
+            "  { \"type\": \"constructor\", \"inputs\": [] },\n" +
+            "  { \"type\": \"fallback\" }\n" +
+            "]";
+
+    @Test
+    public void testDecodeCall() throws Throwable {
+        final FunctionRegistry registry = FunctionRegistry.fromJson(CONTRACT_JSON);
+        assertEquals(3, registry.size());
+
+        final Function transferBytes = Function.parse("transfer(address,bytes)");
+        final Tuple args = Tuple.of(BigInteger.TEN, new byte[] { 1, 2, 3 });
+        final FunctionRegistry.DecodedCall decoded = registry.decodeCall(transferBytes.encodeCall(args).array());
+        assertEquals(transferBytes.getCanonicalSignature(), decoded.getFunction().getCanonicalSignature());
+        assertEquals(args, decoded.getArgs());
+        final ByteBuffer littleEndian = ByteBuffer.wrap(transferBytes.encodeCall(args).array()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(args, registry.decodeCall(littleEndian).getArgs());
+
+        final Function approve = registry.get(Function.parse("approve(address,uint256)").selector());
+        assertEquals("approve", approve.getName());
+        assertSame(approve, registry.get(ByteBuffer.wrap(approve.selector()).getInt()));
+        assertNull(registry.get(Function.parse("transferFrom(address,address,uint256)").selector()));
+
+        final byte[] unknown = Function.parse("foo()").encodeCall(Tuple.EMPTY).array();
+        TestUtils.assertThrown(IllegalArgumentException.class, "unrecognized selector: c2985578", () -> registry.decodeCall(unknown));
+    }
+
+    @Test
+    public void testManyFunctions() throws Throwable {
+        final Function[] functions = new Function[500];
+        for (int i = 0; i < functions.length; i++) {
+            functions[i] = Function.parse("f" + i + "(uint" + (8 + 8 * (i % 32)) + ")");
+        }
+        final FunctionRegistry registry = new FunctionRegistry(Arrays.asList(functions));
+        assertEquals(functions.length, registry.size());
+        for (Function f : functions) {
+            final Tuple args = Tuple.of(f.getParamTypes().get(0).parseArgument("7"));
+            final FunctionRegistry.DecodedCall decoded = registry.decodeCall(f.encodeCall(args).array());
+            assertSame(f, decoded.getFunction());
+            assertEquals(args, decoded.getArgs());
+        }
+
+        final List<Function> duplicates = Arrays.asList(Function.parse("a(int)"), Function.parse("a(int256)"));
+        TestUtils.assertThrown(IllegalArgumentException.class, "duplicate selector", () -> new FunctionRegistry(duplicates));
+    }
+}
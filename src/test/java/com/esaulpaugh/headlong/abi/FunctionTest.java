@@ -6,9 +6,13 @@ import org.junit.jupiter.api.Test;
 
 import java.security.MessageDigest;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FunctionTest {
 
@@ -83,6 +87,63 @@ public class FunctionTest {
         assertEquals(canon.getCanonicalSignature(), nonCanon.getCanonicalSignature());
     }
 
+    @Test
+    public void testSignatureCache() {
+        final String signature = "transfer(address,uint)";
+        final SignatureCache.Stats before = SignatureCache.functionStats();
+        final Function f = Function.parse(signature);
+        assertSame(f, Function.parse(signature));
+        final SignatureCache.Stats after = SignatureCache.functionStats();
+        assertTrue(after.hits() > before.hits());
+        assertTrue(after.size() <= SignatureCache.MAX_SIZE);
+
+        final Function uncached = new Function(Function.Type.FUNCTION, signature, null, new WrappedKeccak(256));
+        assertEquals(uncached, f);
+        assertArrayEquals(uncached.selector(), f.selector());
+        f.selector()[0]++;
+
+        final long hashHits = SignatureCache.hashStats().hits();
+        final Function canonical = Function.parse("transfer(address,uint256)"); // same canonical signature
+        assertNotSame(f, canonical);
+        assertArrayEquals(uncached.selector(), canonical.selector());
+        assertTrue(SignatureCache.hashStats().hits() > hashHits);
+
+        SignatureCache.clear();
+        final Function reparsed = Function.parse(signature);
+        assertNotSame(f, reparsed);
+        assertEquals(f, reparsed);
+    }
+
+    @Test
+    public void testLruEviction() {
+        final LruCache<Integer, String> cache = new LruCache<>(32); // two entries per segment
+        final int[] loads = new int[1];
+        final java.util.function.Function<Integer, String> loader = k -> {
+            loads[0]++;
+            return k.toString();
+        };
+        cache.get(0, loader);
+        cache.get(16, loader); // same segment as 0
+        assertEquals("0", cache.get(0, loader)); // 0 becomes most recently used
+        cache.get(32, loader); // evicts 16
+        assertEquals(3, loads[0]);
+        assertEquals(1, cache.evictions());
+        cache.get(0, loader);
+        cache.get(32, loader);
+        assertEquals(3, loads[0]);
+        cache.get(16, loader);
+        assertEquals(4, loads[0]);
+        assertEquals(3, cache.hits());
+        assertEquals(4, cache.misses());
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get(i, loader);
+        }
+        assertEquals(32, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
     @Test
     public void testFormatTupleType() {
         String f = Function.formatCall(new byte[] { 1, 1, 1, 1, 0x45, 0x13, 0x79, 0x03,
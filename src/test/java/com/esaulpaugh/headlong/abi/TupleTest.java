@@ -21,9 +21,14 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Random;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class TupleTest {
 
@@ -80,6 +85,35 @@ public class TupleTest {
         }
     }
 
+    @Test
+    public void testLazyDecode() {
+        final Random r = TestUtils.seededRandom();
+        final Keccak k = new Keccak(256);
+        for (int i = 0; i < 500; i++) {
+            MonteCarloTestCase mctc = new MonteCarloTestCase(r.nextLong(), 3, 3, 3, 3, r, k);
+            final ByteBuffer call = (ByteBuffer) mctc.function.encodeCall(mctc.argsTuple).flip();
+            final TupleView view = mctc.function.decodeCallLazily(call);
+            final int size = view.size();
+            assertEquals(mctc.argsTuple.size(), size);
+            if(size > 0) {
+                final int idx = r.nextInt(size);
+                assertEquals(Tuple.of(mctc.argsTuple.get(idx)), Tuple.of(view.get(idx)));
+                for (int j = 0; j < size; j++) {
+                    assertEquals(j == idx, view.isDecoded(j));
+                }
+            }
+            assertEquals(mctc.argsTuple, view.toTuple());
+        }
+
+        final TupleType tt = TupleType.parse("(uint8,string,(bool,bytes3)[2],bytes,int64)");
+        final Tuple values = Tuple.of(1, "two", new Tuple[] { Tuple.of(true, new byte[3]), Tuple.of(false, new byte[] { 9, 8, 7 }) }, new byte[40], -5L);
+        final TupleView view = tt.decodeLazily(tt.encode(values).array());
+        assertEquals(-5L, view.get(4));
+        assertEquals("two", view.get(1));
+        assertFalse(view.isDecoded(3));
+        assertEquals(values, view.toTuple());
+    }
+
     @Test
     public void fuzzNulls() throws Throwable {
         final Random r = TestUtils.seededRandom();
@@ -159,4 +193,147 @@ public class TupleTest {
             }
         }
     }
+
+    @Test
+    public void testDecodeColumns() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final TupleType tt = TupleType.parse("(address,uint256,bool,uint8,int64,uint32,bytes32,bytes4,int128,string,uint16[2],(bool,bytes))");
+        final int rows = 50 + r.nextInt(50);
+        final Tuple[] tuples = new Tuple[rows];
+        final byte[][] encodings = new byte[rows][];
+        for (int i = 0; i < rows; i++) {
+            final byte[] b32 = new byte[32];
+            final byte[] b4 = new byte[4];
+            r.nextBytes(b32);
+            r.nextBytes(b4);
+            tuples[i] = Tuple.of(
+                    new BigInteger(r.nextInt(161), r),
+                    new BigInteger(r.nextInt(256), r),
+                    r.nextBoolean(),
+                    r.nextInt(256),
+                    r.nextLong(),
+                    r.nextLong() & 0xFFFFFFFFL,
+                    b32,
+                    b4,
+                    BigInteger.valueOf(r.nextLong()).shiftLeft(r.nextInt(64)),
+                    Integer.toString(r.nextInt()),
+                    new int[] { r.nextInt(65536), r.nextInt(65536) },
+                    Tuple.of(r.nextBoolean(), new byte[r.nextInt(40)])
+            );
+            encodings[i] = tt.encode(tuples[i]).array();
+        }
+
+        final TupleColumns columns = tt.decodeColumns(encodings);
+        assertEquals(rows, columns.size());
+        assertEquals(tt.size(), columns.columnCount());
+        assertEquals(20, columns.packedWidth(0));
+        assertEquals(32, columns.packedWidth(1));
+        assertEquals(4, columns.packedWidth(7));
+        assertEquals(0, columns.packedWidth(8));
+        for (int i = 0; i < rows; i++) {
+            final Tuple t = tuples[i];
+            assertEquals(t.get(0), new BigInteger(1, Arrays.copyOfRange(columns.packed(0), i * 20, i * 20 + 20)));
+            assertEquals(t.get(1), new BigInteger(1, Arrays.copyOfRange(columns.packed(1), i * 32, i * 32 + 32)));
+            assertEquals(t.get(2), columns.booleans(2)[i]);
+            assertEquals(t.get(3), columns.ints(3)[i]);
+            assertEquals(t.get(4), columns.longs(4)[i]);
+            assertEquals(t.get(5), columns.longs(5)[i]);
+            assertArrayEquals((byte[]) t.get(6), Arrays.copyOfRange(columns.packed(6), i * 32, i * 32 + 32));
+            assertArrayEquals((byte[]) t.get(7), Arrays.copyOfRange(columns.packed(7), i * 4, i * 4 + 4));
+            assertEquals(t.get(8), ((BigInteger[]) columns.column(8))[i]);
+            assertEquals(t.get(9), ((String[]) columns.column(9))[i]);
+            assertArrayEquals((int[]) t.get(10), ((int[][]) columns.column(10))[i]);
+            assertEquals(t.get(11), ((Tuple[]) columns.column(11))[i]);
+        }
+
+        final ByteBuffer[] buffers = new ByteBuffer[rows];
+        for (int i = 0; i < rows; i++) {
+            buffers[i] = ByteBuffer.wrap(Arrays.copyOf(encodings[i], encodings[i].length + 1));
+        }
+        final TupleColumns fromBuffers = tt.decodeColumns(buffers);
+        assertArrayEquals(columns.packed(0), fromBuffers.packed(0));
+        assertEquals(1, buffers[rows - 1].remaining());
+
+        TestUtils.assertThrown(IllegalArgumentException.class, "column 2 (bool) is not a long column", () -> columns.longs(2));
+        final byte[][] extra = { encodings[0], buffers[1].array() };
+        TestUtils.assertThrown(IllegalArgumentException.class, "row 1: unconsumed bytes: 1 remaining", () -> tt.decodeColumns(extra));
+        final byte[][] wide = { encodings[0].clone() };
+        wide[0][11] = 1; // above the address's 160 bits
+        TestUtils.assertThrown(IllegalArgumentException.class, "row 0: exceeds bit limit: 161 > 160", () -> tt.decodeColumns(wide));
+        final byte[][] truncated = { Arrays.copyOf(encodings[0], 100) };
+        TestUtils.assertThrown(IllegalArgumentException.class, "row 0: ", () -> tt.decodeColumns(truncated));
+    }
+
+    @Test
+    public void testCompile() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Keccak k = new Keccak(256);
+        for (int i = 0; i < 500; i++) {
+            final MonteCarloTestCase mctc = new MonteCarloTestCase(r.nextLong(), 3, 3, 3, 3, r, k);
+            final TupleType tt = mctc.function.getParamTypes();
+            final TupleCodec codec = tt.compile();
+            assertSame(codec, tt.compile());
+            final Tuple args = mctc.argsTuple;
+            final byte[] expected = tt.encode(args).array();
+            assertArrayEquals(expected, codec.encode(args).array());
+            assertEquals(expected.length, codec.measureEncodedLength(args));
+            final ByteBuffer dest = ByteBuffer.allocate(expected.length + 1);
+            assertSame(codec, codec.encode(args, dest));
+            assertEquals(expected.length, dest.position());
+            assertEquals(args, codec.decode(expected));
+            assertEquals(tt.decode(expected), codec.decode(ByteBuffer.wrap(expected)));
+
+            if(args.elements.length > 0) {
+                final int idx = r.nextInt(args.elements.length);
+                if(r.nextBoolean()) {
+                    replace(args.elements, idx);
+                } else {
+                    final Object replacement = OBJECTS[r.nextInt(OBJECTS.length)];
+                    args.elements[idx] = args.elements[idx].getClass() != replacement.getClass() ? replacement : new Object();
+                }
+                assertSameMessage(() -> tt.encode(args), () -> codec.encode(args));
+            }
+        }
+
+        final TupleType tt = TupleType.parse("(uint8,(int64,(bool,address),bytes4[2]),string,(uint16,bytes)[],(fixed128x18,string),(int))");
+        final Tuple values = Tuple.of(
+                255,
+                Tuple.of(-1L, Tuple.of(true, BigInteger.ONE), new byte[][] { new byte[4], new byte[] { 1, 2, 3, 4 } }),
+                "\u00e9t\u00e9",
+                new Tuple[] { Tuple.of(7, new byte[33]), Tuple.of(0, new byte[0]) },
+                Tuple.of(new BigDecimal(BigInteger.valueOf(-25L), 18), ""),
+                Tuple.of(BigInteger.TEN)
+        );
+        final TupleCodec codec = tt.compile();
+        final byte[] encoded = codec.encode(values).array();
+        assertArrayEquals(tt.encode(values).array(), encoded);
+        assertEquals(values, codec.decode(encoded));
+        assertSame(tt, codec.getTupleType());
+
+        final Tuple wrongLength = Tuple.of(255, Tuple.of(-1L, Tuple.of(true), new byte[2][4]), "", new Tuple[0], Tuple.of(BigDecimal.ZERO, ""), Tuple.of(BigInteger.TEN));
+        assertSameMessage(() -> tt.encode(wrongLength), () -> codec.encode(wrongLength));
+        TestUtils.assertThrown(IllegalArgumentException.class, "tuple index 1: tuple index 1: tuple length mismatch: actual != expected: 1 != 2", () -> codec.encode(wrongLength));
+        final Tuple tooBig = Tuple.of(256, values.get(1), "", new Tuple[0], values.get(4), values.get(5));
+        TestUtils.assertThrown(IllegalArgumentException.class, "tuple index 0: exceeds bit limit: 9 > 8", () -> codec.encode(tooBig));
+        final Tuple nullAddress = Tuple.of(255, Tuple.of(-1L, Tuple.of(true, null), new byte[2][4]), "", new Tuple[0], values.get(4), values.get(5));
+        assertSameMessage(() -> tt.encode(nullAddress), () -> codec.encode(nullAddress));
+
+        final byte[] extra = Arrays.copyOf(encoded, encoded.length + 1);
+        TestUtils.assertThrown(IllegalArgumentException.class, "unconsumed bytes: 1 remaining", () -> codec.decode(extra));
+        encoded[31 + 32 * 2] = 2; // the bool
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 2 > 1", () -> codec.decode(encoded));
+    }
+
+    private static void assertSameMessage(TestUtils.CustomRunnable expected, TestUtils.CustomRunnable actual) throws Throwable {
+        assertEquals(message(expected), message(actual));
+    }
+
+    private static String message(TestUtils.CustomRunnable r) throws Throwable {
+        try {
+            r.run();
+        } catch (IllegalArgumentException iae) {
+            return iae.getMessage();
+        }
+        throw new AssertionError("no " + IllegalArgumentException.class.getName() + " thrown");
+    }
 }
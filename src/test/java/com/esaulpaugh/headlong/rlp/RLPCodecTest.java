@@ -0,0 +1,283 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.rlp.util.FloatingPoint;
+import com.esaulpaugh.headlong.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static com.esaulpaugh.headlong.util.Strings.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RLPCodecTest {
+
+    private static final class Signature {
+
+        private final BigInteger v;
+        private final BigInteger r;
+        private final BigInteger s;
+
+        Signature(BigInteger v, BigInteger r, BigInteger s) {
+            this.v = v;
+            this.r = r;
+            this.s = s;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(v, r, s);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return v.equals(other.v) && r.equals(other.r) && s.equals(other.s);
+        }
+    }
+
+    private static final class Tx {
+
+        private static final RLPCodec<Signature> SIGNATURE_CODEC = RLPCodec.of(Signature.class, "v", "r", "s");
+
+        static final RLPCodec<Tx> CODEC = RLPCodec.builder(Tx.class)
+                .field("nonce")
+                .field("gasPrice")
+                .field("gasLimit")
+                .field("to")
+                .field("value")
+                .field("data")
+                .field("memo")
+                .field("flag")
+                .field("b")
+                .field("sh")
+                .field("i")
+                .field("f")
+                .field("d")
+                .field("sig", SIGNATURE_CODEC)
+                .build();
+
+        private final long nonce;
+        private final BigInteger gasPrice;
+        private final long gasLimit;
+        private final byte[] to;
+        private final BigInteger value;
+        private final byte[] data;
+        private final String memo;
+        private final boolean flag;
+        private final byte b;
+        private final short sh;
+        private final int i;
+        private final float f;
+        private final double d;
+        private final Signature sig;
+
+        private Tx(long nonce, BigInteger gasPrice, long gasLimit, byte[] to, BigInteger value, byte[] data, String memo,
+                   boolean flag, byte b, short sh, int i, float f, double d, Signature sig) {
+            this.nonce = nonce;
+            this.gasPrice = gasPrice;
+            this.gasLimit = gasLimit;
+            this.to = to;
+            this.value = value;
+            this.data = data;
+            this.memo = memo;
+            this.flag = flag;
+            this.b = b;
+            this.sh = sh;
+            this.i = i;
+            this.f = f;
+            this.d = d;
+            this.sig = sig;
+        }
+
+        Object[] toObjectArray() {
+            return new Object[] {
+                    Integers.toBytes(nonce),
+                    Integers.toBytesUnsigned(gasPrice),
+                    Integers.toBytes(gasLimit),
+                    to,
+                    Integers.toBytesUnsigned(value),
+                    data,
+                    Strings.decode(memo, UTF_8),
+                    flag ? new byte[] { 1 } : new byte[0],
+                    Integers.toBytes(b),
+                    Integers.toBytes(sh),
+                    Integers.toBytes(i),
+                    Integers.toBytes(Float.floatToIntBits(f)),
+                    FloatingPoint.toBytes(d),
+                    new Object[] { Integers.toBytesUnsigned(sig.v), Integers.toBytesUnsigned(sig.r), Integers.toBytesUnsigned(sig.s) }
+            };
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nonce, gasPrice, gasLimit, Arrays.hashCode(to), value, Arrays.hashCode(data), memo, flag, b, sh, i, f, d, sig);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Tx)) {
+                return false;
+            }
+            Tx other = (Tx) o;
+            return nonce == other.nonce && gasPrice.equals(other.gasPrice) && gasLimit == other.gasLimit
+                    && Arrays.equals(to, other.to) && value.equals(other.value) && Arrays.equals(data, other.data)
+                    && memo.equals(other.memo) && flag == other.flag && b == other.b && sh == other.sh && i == other.i
+                    && Float.compare(f, other.f) == 0 && Double.compare(d, other.d) == 0 && sig.equals(other.sig);
+        }
+    }
+
+    private static final class Unsupported {
+        private final Object o;
+
+        Unsupported(Object o) {
+            this.o = o;
+        }
+    }
+
+    private static Tx randomTx(Random r) {
+        final byte[] to = new byte[r.nextBoolean() ? 20 : 0];
+        r.nextBytes(to);
+        final byte[] data = new byte[r.nextInt(4) == 0 ? r.nextInt(300) : r.nextInt(3)];
+        r.nextBytes(data);
+        return new Tx(
+                r.nextLong() >>> r.nextInt(64),
+                new BigInteger(r.nextInt(257), r),
+                r.nextInt(3) == 0 ? r.nextInt(0x80) : r.nextLong(),
+                to,
+                new BigInteger(r.nextInt(9), r),
+                data,
+                r.nextBoolean() ? "" : "ŝƴƨ\u0000" + r.nextInt(),
+                r.nextBoolean(),
+                (byte) r.nextInt(),
+                (short) r.nextInt(),
+                r.nextInt() >> r.nextInt(32),
+                r.nextFloat() - 0.5f,
+                r.nextBoolean() ? 0.0 : r.nextGaussian(),
+                new Signature(BigInteger.valueOf(r.nextInt(2) + 27), new BigInteger(256, r), new BigInteger(256, r))
+        );
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Random r = TestUtils.seededRandom();
+        for (int j = 0; j < 500; j++) {
+            final Tx tx = randomTx(r);
+            final byte[] expected = RLPEncoder.encodeAsList(tx.toObjectArray());
+            assertEquals(expected.length, Tx.CODEC.encodedLength(tx));
+            final byte[] encoding = Tx.CODEC.encode(tx);
+            assertArrayEquals(expected, encoding);
+            assertEquals(tx, Tx.CODEC.decode(encoding));
+
+            final byte[] dest = new byte[encoding.length + 3];
+            assertEquals(dest.length - 1, Tx.CODEC.encode(tx, dest, 2));
+            assertArrayEquals(encoding, Arrays.copyOfRange(dest, 2, dest.length - 1));
+            assertEquals(tx, Tx.CODEC.decode(RLPDecoder.RLP_STRICT.wrap(dest, 2)));
+        }
+    }
+
+    /** Counts how often the wrapped codec is asked to measure a signature. */
+    private static final class CountingCodec implements RLPCodec<Signature> {
+
+        private final RLPCodec<Signature> codec = RLPCodec.of(Signature.class, "v", "r", "s");
+        int measured;
+
+        @Override
+        public int encodedLength(Signature value) {
+            measured++;
+            return codec.encodedLength(value);
+        }
+
+        @Override
+        public int encode(Signature value, byte[] dest, int destIndex) {
+            return codec.encode(value, dest, destIndex);
+        }
+
+        @Override
+        public Signature decode(RLPItem item) {
+            return codec.decode(item);
+        }
+    }
+
+    private static final class Inner {
+
+        private final Signature sig;
+
+        Inner(Signature sig) {
+            this.sig = sig;
+        }
+    }
+
+    private static final class Outer {
+
+        private final Inner inner;
+        private final long n;
+
+        Outer(Inner inner, long n) {
+            this.inner = inner;
+            this.n = n;
+        }
+    }
+
+    @Test
+    public void testNestedMeasuredOnce() {
+        final CountingCodec sigCodec = new CountingCodec();
+        final RLPCodec<Inner> innerCodec = RLPCodec.builder(Inner.class).field("sig", sigCodec).build();
+        final RLPCodec<Outer> outerCodec = RLPCodec.builder(Outer.class).field("inner", innerCodec).field("n").build();
+
+        final Signature sig = new Signature(BigInteger.valueOf(27), BigInteger.valueOf(Long.MAX_VALUE), BigInteger.TEN);
+        final byte[] encoding = outerCodec.encode(new Outer(new Inner(sig), 300L));
+        assertEquals(1, sigCodec.measured);
+        final Object[] sigList = new Object[] { Integers.toBytesUnsigned(sig.v), Integers.toBytesUnsigned(sig.r), Integers.toBytesUnsigned(sig.s) };
+        assertArrayEquals(RLPEncoder.encodeAsList(new Object[] { sigList }, Integers.toBytes(300L)), encoding);
+
+        final Outer decoded = outerCodec.decode(encoding);
+        assertEquals(sig, decoded.inner.sig);
+        assertEquals(300L, decoded.n);
+    }
+
+    @Test
+    public void testCache() {
+        assertSame(RLPCodec.of(Signature.class, "v", "r", "s"), RLPCodec.of(Signature.class, "v", "r", "s"));
+    }
+
+    @Test
+    public void testErrors() throws Throwable {
+        assertThrown(IllegalArgumentException.class, "no field w in ", () -> RLPCodec.of(Signature.class, "v", "w"));
+        assertThrown(IllegalArgumentException.class, "no constructor Signature(BigInteger,BigInteger) in ", () -> RLPCodec.of(Signature.class, "v", "r"));
+        assertThrown(IllegalArgumentException.class, "static field: SIGNATURE_CODEC", () -> RLPCodec.of(Tx.class, "SIGNATURE_CODEC"));
+        assertThrown(IllegalArgumentException.class, "unsupported field type: java.lang.Object; supply a codec", () -> RLPCodec.of(Unsupported.class, "o"));
+
+        final RLPCodec<Signature> codec = RLPCodec.of(Signature.class, "v", "r", "s");
+        assertThrown(IllegalArgumentException.class, "negative integer", () -> codec.encode(new Signature(BigInteger.ONE.negate(), BigInteger.ONE, BigInteger.ONE)));
+        assertThrown(IllegalArgumentException.class, "expected 3 elements for Signature, found 2", () -> codec.decode(RLPEncoder.encodeAsList(new byte[0], new byte[0])));
+        assertThrown(IllegalArgumentException.class, "expected 3 elements for Signature, found 4", () -> codec.decode(RLPEncoder.encodeAsList(new byte[0], new byte[0], new byte[0], new byte[0])));
+        assertThrown(ClassCastException.class, "not an RLPList", () -> codec.decode(new byte[] { 0x01 }));
+        assertThrown(IllegalArgumentException.class, "deserialized integers with leading zeroes are invalid", () -> codec.decode(RLPEncoder.encodeAsList(new byte[0], new byte[] { 0, 1 }, new byte[0])));
+    }
+}
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -616,4 +617,92 @@ public class RLPDecoderTest {
 
         System.out.println(joined);
     }
+
+    @Test
+    public void testByteBufferWrap() throws Throwable {
+        final List<RLPItem> expected = RLP_STRICT.collectAll(LONG_LIST_BYTES);
+        final int offset = 3;
+        for (ByteBuffer bb : new ByteBuffer[] { ByteBuffer.allocate(LONG_LIST_BYTES.length + offset), ByteBuffer.allocateDirect(LONG_LIST_BYTES.length + offset) }) {
+            bb.position(offset);
+            bb.put(LONG_LIST_BYTES);
+            bb.position(offset);
+            final RLPList list = RLP_STRICT.wrapList(bb);
+            assertEquals(offset, bb.position());
+            assertEquals(offset, list.index);
+            assertEquals(expected.get(0), list);
+            assertEquals(list, expected.get(0));
+            assertEquals(expected.get(0).hashCode(), list.hashCode());
+            assertEquals(expected.get(0).toString(), list.toString());
+
+            final List<RLPItem> elements = list.elements();
+            final Iterator<RLPItem> iter = list.iterator();
+            for (RLPItem e : expected.get(0).asRLPList()) {
+                final RLPItem a = iter.next();
+                assertEquals(e, a);
+                assertEquals(e.type(), a.type());
+                assertArrayEquals(e.data(), a.data());
+                assertEquals(e.asString(Strings.HEX), a.asString(Strings.HEX));
+                if (e.isString() && e.dataLength <= Long.BYTES) {
+                    assertEquals(e.asLong(true), a.asLong(true));
+                    assertEquals(e.asBigInt(true), a.asBigInt(true));
+                    if (e.dataLength <= Integer.BYTES) {
+                        assertEquals(e.asInt(true), a.asInt(true));
+                    }
+                }
+            }
+            assertFalse(iter.hasNext());
+            assertEquals(expected.get(0).asRLPList().elements(), elements);
+
+            final RLPString cats = RLP_STRICT.wrapString(bb, elements.get(3).index);
+            assertEquals("cats", cats.asString(UTF_8));
+            assertThrown(IllegalArgumentException.class, "item is not a list", () -> RLP_STRICT.wrapList(bb, cats.index));
+            assertThrown(IllegalArgumentException.class, "item is not a string", () -> RLP_STRICT.wrapString(bb));
+
+            final Iterator<RLPItem> seqIter = RLP_STRICT.sequenceIterator(bb);
+            assertEquals(list, seqIter.next());
+            assertFalse(seqIter.hasNext());
+            assertThrown(NoSuchElementException.class, seqIter::next);
+
+            bb.limit(bb.limit() - 1);
+            assertThrown(IllegalArgumentException.class, "exceeds its container", () -> RLP_STRICT.wrap(bb));
+        }
+    }
+
+    @Test
+    public void testParallel() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final Object[] objects = new Object[1000];
+        for (int i = 0; i < objects.length; i++) {
+            final byte[] bytes = new byte[r.nextInt(4) == 0 ? 56 + r.nextInt(200) : r.nextInt(56)];
+            r.nextBytes(bytes);
+            objects[i] = r.nextBoolean() ? bytes : new Object[] { Integers.toBytes(i), bytes };
+        }
+        final byte[] encodings = RLPEncoder.encodeSequentially(objects);
+        final List<RLPItem> expected = RLP_STRICT.collectAll(encodings);
+
+        final int[] indices = RLP_STRICT.itemIndices(encodings, 0, encodings.length);
+        assertEquals(expected.size(), indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            assertEquals(expected.get(i).index, indices[i]);
+        }
+
+        assertEquals(expected, RLP_STRICT.mapParallel(encodings, item -> item));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final int from = expected.get(10).index;
+            final int to = expected.get(900).index;
+            assertEquals(expected.subList(10, 900), RLP_STRICT.mapParallel(encodings, from, to, item -> item, executor));
+
+            final RLPItem[] visited = new RLPItem[expected.size()];
+            assertEquals(expected.size(), RLP_STRICT.forEachParallel(encodings, 0, encodings.length, (item, i) -> visited[i] = item, executor));
+            assertEquals(expected, Arrays.asList(visited));
+
+            assertThrown(IllegalArgumentException.class, "exceeds its container", () -> RLP_STRICT.mapParallel(encodings, 0, encodings.length - 1, item -> item, executor));
+            assertThrown(ClassCastException.class, "not an RLPString", () -> RLP_STRICT.mapParallel(encodings, 0, encodings.length, RLPItem::asRLPString, executor));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, RLP_STRICT.mapParallel(new byte[0], item -> item).size());
+    }
 }
@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -217,4 +218,54 @@ public class RLPEncoderTest {
 
         TestUtils.assertThrown(NullPointerException.class, () -> RLPEncoder.encodeSequentially(() -> null, ByteBuffer.allocate(0)));
     }
+
+    @Test
+    public void testDeepNesting() {
+        final Random r = TestUtils.seededRandom();
+        for (int i = 0; i < 50; i++) {
+            final Object[] tree = new Object[1 + r.nextInt(4)];
+            for (int j = 0; j < tree.length; j++) {
+                tree[j] = randomTree(r, r.nextInt(8));
+            }
+            final byte[] list = RLPEncoder.encodeAsList(tree);
+            assertMatches(tree, RLPDecoder.RLP_STRICT.wrapList(list));
+
+            final byte[] sequence = RLPEncoder.encodeSequentially(tree);
+            assertEquals(RLPDecoder.RLP_STRICT.wrapList(list).elements(), RLPDecoder.RLP_STRICT.collectAll(sequence));
+
+            final byte[] dest = new byte[list.length + 2];
+            assertEquals(dest.length - 1, RLPEncoder.encodeAsList(tree, dest, 1));
+            assertArrayEquals(list, Arrays.copyOfRange(dest, 1, dest.length - 1));
+
+            final ByteBuffer bb = ByteBuffer.allocate(sequence.length);
+            RLPEncoder.encodeSequentially(tree, bb);
+            assertArrayEquals(sequence, bb.array());
+        }
+    }
+
+    private static Object randomTree(Random r, int depth) {
+        if (depth == 0 || r.nextInt(4) == 0) {
+            final byte[] bytes = new byte[r.nextInt(5) == 0 ? r.nextInt(100) : r.nextInt(3)];
+            r.nextBytes(bytes);
+            return bytes;
+        }
+        final Object[] elements = new Object[r.nextInt(6)];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = randomTree(r, depth - 1);
+        }
+        return r.nextBoolean() ? elements : Arrays.asList(elements);
+    }
+
+    private static void assertMatches(Object raw, RLPItem item) {
+        if (raw instanceof byte[]) {
+            assertArrayEquals((byte[]) raw, item.asBytes());
+            return;
+        }
+        final List<?> expected = raw instanceof Object[] ? Arrays.asList((Object[]) raw) : (List<?>) raw;
+        final List<RLPItem> actual = item.asRLPList().elements();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertMatches(expected.get(i), actual.get(i));
+        }
+    }
 }
@@ -0,0 +1,123 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.util.Integers;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+import static com.esaulpaugh.headlong.util.Strings.HEX;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class RLPFileReaderTest {
+
+    @Test
+    public void testMappedRead() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            final byte[] bytes = new byte[r.nextInt(5) == 0 ? r.nextInt(3000) : r.nextInt(60)];
+            r.nextBytes(bytes);
+            final long n = r.nextLong() >>> r.nextInt(64);
+            objects.add(r.nextBoolean() ? bytes : new Object[] { bytes, RLPEncoder.encodeSequentially(), new byte[] { (byte) i } });
+            objects.add(Integers.toBytes(n));
+        }
+        objects.add(new byte[] { 1, 2, 3 }); // so that truncating the file truncates an item
+        final byte[] rlp = RLPEncoder.encodeSequentially(objects);
+        final List<RLPItem> expected = RLP_STRICT.collectAll(rlp);
+
+        final Path file = Files.createTempFile("headlong", ".rlp");
+        try {
+            Files.write(file, rlp);
+            for (int windowSize : new int[] { 1, 100, 4096, RLPFileReader.DEFAULT_WINDOW_SIZE }) {
+                try (RLPFileReader reader = new RLPFileReader(file, RLP_STRICT, windowSize)) {
+                    assertEquals(rlp.length, reader.size());
+                    final List<RLPFileReader.Entry> entries = new ArrayList<>();
+                    reader.forEach(entries::add);
+                    assertEquals(expected.size(), entries.size());
+                    long position = 0;
+                    for (int i = 0; i < entries.size(); i++) {
+                        final RLPItem e = expected.get(i);
+                        final RLPFileReader.Entry entry = entries.get(i);
+                        final RLPItem a = entry.getItem();
+                        assertNotNull(a.byteBuffer);
+                        assertEquals(position, entry.getPosition());
+                        assertEquals(e, a);
+                        assertEquals(a, e);
+                        assertEquals(e.hashCode(), a.hashCode());
+                        assertEquals(e.type(), a.type());
+                        assertArrayEquals(e.encoding(), a.encoding());
+                        assertArrayEquals(e.data(), a.data());
+                        assertEquals(e.asString(HEX), a.asString(HEX));
+                        assertEquals(e.toString(), a.toString());
+                        assertEquals(e.asBoolean(), a.asBoolean());
+                        if(e.isList()) {
+                            assertEquals(e.asRLPList().elements(), a.asRLPList().elements());
+                            final Iterator<RLPItem> iter = a.asRLPList().iterator();
+                            for (RLPItem element : e.asRLPList()) {
+                                assertEquals(element, iter.next());
+                            }
+                            assertFalse(iter.hasNext());
+                        } else if(e.dataLength <= Long.BYTES) {
+                            assertEquals(e.asLong(true), a.asLong(true));
+                            assertEquals(e.asBigInt(true), a.asBigInt(true));
+                            if(e.dataLength <= Integer.BYTES) {
+                                assertEquals(e.asInt(true), a.asInt(true));
+                            }
+                        }
+                        position += e.encodingLength();
+                    }
+                    final RLPFileReader.Entry last = entries.get(entries.size() - 1);
+                    assertEquals(last.getItem(), reader.read(last.getPosition()));
+                    assertFalse(reader.iterator(reader.size()).hasNext());
+                }
+            }
+
+            Files.write(file, Arrays.copyOf(rlp, rlp.length - 1));
+            try (RLPFileReader reader = new RLPFileReader(file, RLP_STRICT, 64)) {
+                TestUtils.assertThrown(IllegalArgumentException.class, "exceeds its container", () -> reader.forEach(e -> {}));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testIllegalArgs() throws Throwable {
+        final Path file = Files.createTempFile("headlong", ".rlp");
+        try {
+            TestUtils.assertThrown(IllegalArgumentException.class, "windowSize must be positive", () -> new RLPFileReader(file, RLP_STRICT, 0));
+            try (RLPFileReader reader = new RLPFileReader(file)) {
+                assertFalse(reader.iterator().hasNext());
+                TestUtils.assertThrown(IllegalArgumentException.class, "position out of range: 1", () -> reader.iterator(1L));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
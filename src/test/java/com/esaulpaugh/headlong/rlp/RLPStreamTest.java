@@ -34,6 +34,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
@@ -176,6 +177,83 @@ public class RLPStreamTest {
         }
     }
 
+    @Test
+    public void testChunkedReads() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final byte[] bytes = new byte[r.nextInt(4) == 0 ? r.nextInt(20_000) : r.nextInt(70)];
+            r.nextBytes(bytes);
+            objects.add(r.nextBoolean() ? bytes : new Object[] { bytes, new byte[] { (byte) i } });
+        }
+        final byte[] rlp = RLPEncoder.encodeSequentially(objects);
+        final List<RLPItem> expected = RLP_STRICT.collectAll(rlp);
+
+        assertEquals(expected, RLPStream.blocking(new TrickleInputStream(rlp, r, false), RLP_STRICT, 64, 1 << 16).collect());
+        assertEquals(expected, RLPStream.blocking(new TrickleInputStream(rlp, r, false), RLP_STRICT, 8192, 1 << 16).collect());
+        assertEquals(expected, new RLPStream(new TrickleInputStream(rlp, r, true), RLP_STRICT).collect());
+
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds max size: ",
+                () -> RLPStream.blocking(new TrickleInputStream(rlp, r, false), RLP_STRICT, 64, 10_000).collect());
+        TestUtils.assertThrown(IllegalArgumentException.class, "stream ended within item @ ",
+                () -> RLPStream.blocking(new ByteArrayInputStream(Arrays.copyOf(rlp, rlp.length - 1)), RLP_STRICT, 64, 1 << 16).collect());
+        TestUtils.assertThrown(IllegalArgumentException.class, "readSize must be positive",
+                () -> RLPStream.blocking(new ByteArrayInputStream(rlp), RLP_STRICT, 0, 1));
+    }
+
+    @Test
+    public void testHostileLengthPrefix() throws Throwable {
+        final byte[] prefix = new byte[] { (byte) 0xbb, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xf0 }; // claims ~2 GB
+
+        final MaxBufferInputStream nonBlocking = new MaxBufferInputStream(prefix);
+        assertFalse(new RLPStream(nonBlocking).iterator().hasNext());
+        assertTrue(nonBlocking.maxBufferLen <= RLPStreamIterator.DEFAULT_READ_SIZE * 2);
+
+        final MaxBufferInputStream blocking = new MaxBufferInputStream(prefix);
+        TestUtils.assertThrown(IllegalArgumentException.class, "stream ended within item @ 0: 5 bytes buffered",
+                () -> RLPStream.blocking(blocking, RLP_STRICT, 64, Integer.MAX_VALUE).iterator().hasNext());
+        assertTrue(blocking.maxBufferLen <= 64 * 2);
+    }
+
+    /** Records the largest buffer offered to {@link #read(byte[], int, int)}. */
+    private static final class MaxBufferInputStream extends ByteArrayInputStream {
+
+        int maxBufferLen;
+
+        MaxBufferInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            maxBufferLen = Math.max(maxBufferLen, b.length);
+            return super.read(b, off, len);
+        }
+    }
+
+    /** Returns random small amounts per read, and reports nothing available unless {@code available} is set. */
+    private static final class TrickleInputStream extends ByteArrayInputStream {
+
+        private final Random r;
+        private final boolean available;
+
+        TrickleInputStream(byte[] buf, Random r, boolean available) {
+            super(buf);
+            this.r = r;
+            this.available = available;
+        }
+
+        @Override
+        public synchronized int available() {
+            return available ? Math.min(1 + r.nextInt(3000), super.available()) : 0;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1 + r.nextInt(3000)));
+        }
+    }
+
     @Test
     public void testInterfaces() {
         try (RLPStream stream = new RLPStream(new ByteArrayInputStream(new byte[0]))) {
@@ -0,0 +1,134 @@
+/*
+   Copyright 2020 Evan Saulpaugh
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+*/
+package com.joemelsha.crypto.hash;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.abi.util.WrappedKeccak;
+import com.esaulpaugh.headlong.util.Strings;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Keccak256Test {
+
+    @Test
+    public void testAgainstWrapped() {
+        final Random r = TestUtils.seededRandom();
+        final MessageDigest wrapped = new WrappedKeccak(256);
+        final Keccak256 keccak = new Keccak256();
+        final byte[] dest = new byte[Keccak256.DIGEST_LEN + 2];
+        for (int len = 0; len < 700; len++) {
+            final byte[] input = new byte[len + 3];
+            r.nextBytes(input);
+            final byte[] expected = wrapped.digest(Arrays.copyOfRange(input, 1, 1 + len));
+
+            keccak.digest(input, 1, len, dest, 1, Keccak256.DIGEST_LEN);
+            assertArrayEquals(expected, Arrays.copyOfRange(dest, 1, 1 + Keccak256.DIGEST_LEN));
+
+            Keccak256.hash(input, 1, len, dest, 2, 4);
+            assertArrayEquals(Arrays.copyOf(expected, 4), Arrays.copyOfRange(dest, 2, 6));
+
+            for (ByteBuffer bb : new ByteBuffer[] { ByteBuffer.wrap(input), ByteBuffer.allocateDirect(input.length).put(input) }) {
+                for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+                    bb.order(order);
+                    bb.limit(1 + len).position(1);
+                    keccak.digest(bb, dest, 0);
+                    assertEquals(1 + len, bb.position());
+                    assertEquals(order, bb.order());
+                    assertArrayEquals(expected, Arrays.copyOf(dest, Keccak256.DIGEST_LEN));
+                    bb.clear();
+                }
+            }
+        }
+        assertEquals("c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470", Strings.encode(Keccak256.hash(new byte[0])));
+    }
+
+    @Test
+    public void testBatch() {
+        final Random r = TestUtils.seededRandom();
+        final byte[][] inputs = new byte[50][];
+        final int[] offsets = new int[inputs.length + 1];
+        for (int i = 0; i < inputs.length; i++) {
+            r.nextBytes(inputs[i] = new byte[r.nextInt(300)]);
+            offsets[i + 1] = offsets[i] + inputs[i].length;
+        }
+        final byte[] data = new byte[offsets[inputs.length]];
+        for (int i = 0; i < inputs.length; i++) {
+            System.arraycopy(inputs[i], 0, data, offsets[i], inputs[i].length);
+        }
+
+        final byte[] expected = new byte[inputs.length * Keccak256.DIGEST_LEN];
+        for (int i = 0; i < inputs.length; i++) {
+            System.arraycopy(new Keccak(256).digest(inputs[i]), 0, expected, i * Keccak256.DIGEST_LEN, Keccak256.DIGEST_LEN);
+        }
+
+        final byte[] dest = new byte[expected.length + 1];
+        Keccak256.hashAll(inputs, dest, 1);
+        assertArrayEquals(expected, Arrays.copyOfRange(dest, 1, dest.length));
+
+        Arrays.fill(dest, (byte) 0);
+        Keccak256.hashAll(data, offsets, dest, 1);
+        assertArrayEquals(expected, Arrays.copyOfRange(dest, 1, dest.length));
+    }
+
+    @Test
+    public void testParallel() throws Throwable {
+        final Random r = TestUtils.seededRandom();
+        final byte[][] inputs = new byte[1000 + r.nextInt(100)][];
+        for (int i = 0; i < inputs.length; i++) {
+            r.nextBytes(inputs[i] = new byte[r.nextInt(200)]);
+        }
+        final byte[] expected = new byte[inputs.length * Keccak256.DIGEST_LEN];
+        Keccak256.hashAll(inputs, expected, 0);
+
+        final byte[] dest = new byte[expected.length + 1];
+        Keccak256.hashAllParallel(inputs, dest, 1);
+        assertArrayEquals(expected, Arrays.copyOfRange(dest, 1, dest.length));
+
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Arrays.fill(dest, (byte) 0);
+            Keccak256.hashAllParallel(Arrays.asList(inputs), dest, 1, pool);
+            assertArrayEquals(expected, Arrays.copyOfRange(dest, 1, dest.length));
+
+            Keccak256.hashAllParallel(Collections.emptyList(), new byte[0], 0, pool);
+            assertThrown(IndexOutOfBoundsException.class, "offset: 1, len: " + expected.length + ", array length: " + expected.length,
+                    () -> Keccak256.hashAllParallel(Arrays.asList(inputs), expected, 1, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRanges() throws Throwable {
+        final Keccak256 keccak = new Keccak256();
+        final byte[] dest = new byte[32];
+        assertThrown(IndexOutOfBoundsException.class, "offset: 1, len: 32, array length: 32", () -> keccak.digest(new byte[0], 0, 0, dest, 1, 32));
+        assertThrown(IndexOutOfBoundsException.class, "offset: 2, len: -1, array length: 2", () -> keccak.digest(new byte[2], 2, -1, dest, 0, 32));
+        assertThrown(IllegalArgumentException.class, "digestLen > 32: 33", () -> keccak.digest(new byte[0], 0, 0, new byte[33], 0, 33));
+        assertThrown(IndexOutOfBoundsException.class, "offset: 0, len: 64, array length: 63", () -> keccak.digestAll(new byte[2][], new byte[63], 0));
+    }
+}
@@ -202,6 +202,25 @@ public class KeccakTest {
         }
     }
 
+    @Test
+    public void testPermutations() {
+        final Random r = TestUtils.seededRandom();
+        final long[] a = new long[25];
+        final long[] b = new long[25];
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < a.length; j++) {
+                a[j] = b[j] = r.nextLong();
+            }
+            Keccak.keccakLooped(a);
+            Keccak.keccakUnrolled(b);
+            assertArrayEquals(a, b);
+        }
+        Arrays.fill(a, 0L);
+        Keccak.keccakUnrolled(a);
+        assertEquals(0xF1258F7940E1DDE7L, a[0]);
+        assertEquals(0xEAF1FF7B5CECA249L, a[24]);
+    }
+
     @Disabled("slow")
     @Test
     public void benchmark() {